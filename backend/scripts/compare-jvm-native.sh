@@ -0,0 +1,84 @@
+#!/usr/bin/env bash
+# Side-by-side comparison of the JVM and native backend images: startup time, RSS and request throughput.
+# Usage: scripts/compare-jvm-native.sh <jvm-image> <native-image> [requests]
+
+set -euo pipefail
+
+JVM_IMAGE="${1:?Usage: $0 <jvm-image> <native-image> [requests]}"
+NATIVE_IMAGE="${2:?Usage: $0 <jvm-image> <native-image> [requests]}"
+REQUESTS="${3:-2000}"
+NETWORK="image-comparison"
+POSTGRES="image-comparison-postgres"
+BACKEND="image-comparison-backend"
+PORT=18080
+TIMEOUT_SECONDS=120
+
+cleanup() {
+  docker rm -f "$BACKEND" "$POSTGRES" >/dev/null 2>&1 || true
+  docker network rm "$NETWORK" >/dev/null 2>&1 || true
+}
+trap cleanup EXIT
+
+docker network create "$NETWORK" >/dev/null
+docker run -d --name "$POSTGRES" --network "$NETWORK" \
+  -e POSTGRES_DB=eshop -e POSTGRES_USER=eshop_user -e POSTGRES_PASSWORD=eshop_password \
+  postgres:16-alpine >/dev/null
+
+until docker exec "$POSTGRES" pg_isready -U eshop_user -d eshop >/dev/null 2>&1; do
+  sleep 1
+done
+
+# Prints "<startup ms> <idle RSS> <requests/s> <RSS after load>" for one image
+measure() {
+  local image="$1"
+
+  local start
+  start=$(date +%s%3N)
+  docker run -d --name "$BACKEND" --network "$NETWORK" -p "$PORT:8080" \
+    -e SPRING_PROFILES_ACTIVE=prod \
+    -e POSTGRES_URL="jdbc:postgresql://$POSTGRES:5432/eshop" \
+    -e POSTGRES_USERNAME=eshop_user \
+    -e POSTGRES_PASSWORD=eshop_password \
+    -e ALLOWED_ORIGINS=http://localhost \
+    -e EXTERNAL_SYSTEM_MODE=real \
+    -e ERP_API_URL=http://localhost:9000/erp \
+    -e TAX_API_URL=http://localhost:9000/tax \
+    -e CLOCK_API_URL=http://localhost:9000/clock \
+    "$image" >/dev/null
+
+  local deadline=$((start + TIMEOUT_SECONDS * 1000))
+  until curl -sf "http://localhost:$PORT/health" >/dev/null 2>&1; do
+    if [ "$(date +%s%3N)" -gt "$deadline" ]; then
+      docker logs "$BACKEND" >&2
+      echo "$image did not become healthy within ${TIMEOUT_SECONDS}s" >&2
+      exit 1
+    fi
+    sleep 0.05
+  done
+  local startup_ms=$(( $(date +%s%3N) - start ))
+  local idle_rss
+  idle_rss=$(docker stats --no-stream --format '{{.MemUsage}}' "$BACKEND" | cut -d/ -f1 | tr -d ' ')
+
+  local load_start
+  load_start=$(date +%s%3N)
+  seq "$REQUESTS" | xargs -P 16 -I{} curl -sf -o /dev/null "http://localhost:$PORT/api/orders"
+  local load_ms=$(( $(date +%s%3N) - load_start ))
+  local loaded_rss
+  loaded_rss=$(docker stats --no-stream --format '{{.MemUsage}}' "$BACKEND" | cut -d/ -f1 | tr -d ' ')
+
+  docker rm -f "$BACKEND" >/dev/null
+  echo "$startup_ms $idle_rss $(( REQUESTS * 1000 / load_ms )) $loaded_rss"
+}
+
+read -r jvm_startup jvm_idle jvm_rps jvm_loaded <<< "$(measure "$JVM_IMAGE")"
+read -r native_startup native_idle native_rps native_loaded <<< "$(measure "$NATIVE_IMAGE")"
+
+report="| Image | Startup | Idle RSS | GET /api/orders req/s | RSS after load |
+|---|---|---|---|---|
+| JVM (AppCDS) | ${jvm_startup} ms | ${jvm_idle} | ${jvm_rps} | ${jvm_loaded} |
+| Native | ${native_startup} ms | ${native_idle} | ${native_rps} | ${native_loaded} |"
+
+echo "$report"
+if [ -n "${GITHUB_STEP_SUMMARY:-}" ]; then
+  printf '### JVM vs native backend\n\n%s\n' "$report" >> "$GITHUB_STEP_SUMMARY"
+fi
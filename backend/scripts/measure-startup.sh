@@ -0,0 +1,96 @@
+#!/usr/bin/env bash
+# Measures the time from container start to the first successful GET /api/orders for a backend image, with and
+# without the startup optimizations, and fails unless the optimizations at least halve it.
+# The first real request, not /health: the prod profile initializes beans lazily, so part of the startup work moves
+# to the first request that needs them.
+# Usage: scripts/measure-startup.sh <image> [runs]
+
+set -euo pipefail
+
+IMAGE="${1:?Usage: $0 <image> [runs]}"
+RUNS="${2:-3}"
+NETWORK="startup-benchmark"
+POSTGRES="startup-benchmark-postgres"
+BACKEND="startup-benchmark-backend"
+PORT=18080
+TIMEOUT_SECONDS=120
+
+cleanup() {
+  docker rm -f "$BACKEND" "$POSTGRES" >/dev/null 2>&1 || true
+  docker network rm "$NETWORK" >/dev/null 2>&1 || true
+}
+trap cleanup EXIT
+
+docker network create "$NETWORK" >/dev/null
+docker run -d --name "$POSTGRES" --network "$NETWORK" \
+  -e POSTGRES_DB=eshop -e POSTGRES_USER=eshop_user -e POSTGRES_PASSWORD=eshop_password \
+  postgres:16-alpine >/dev/null
+
+until docker exec "$POSTGRES" pg_isready -U eshop_user -d eshop >/dev/null 2>&1; do
+  sleep 1
+done
+
+# Prints milliseconds from container start until GET /api/orders first returns 200.
+# The remaining arguments replace the image's command line: the baseline runs plain "java -jar app.jar", with the
+# JVM's default flags and its default CDS archive, instead of the image's AppCDS archive
+measure_once() {
+  local profiles="$1"
+  shift
+
+  local start
+  start=$(date +%s%3N)
+  docker run -d --name "$BACKEND" --network "$NETWORK" -p "$PORT:8080" \
+    -e SPRING_PROFILES_ACTIVE="$profiles" \
+    -e POSTGRES_URL="jdbc:postgresql://$POSTGRES:5432/eshop" \
+    -e POSTGRES_USERNAME=eshop_user \
+    -e POSTGRES_PASSWORD=eshop_password \
+    -e ALLOWED_ORIGINS=http://localhost \
+    -e EXTERNAL_SYSTEM_MODE=real \
+    -e ERP_API_URL=http://localhost:9000/erp \
+    -e TAX_API_URL=http://localhost:9000/tax \
+    -e CLOCK_API_URL=http://localhost:9000/clock \
+    "$@" >/dev/null
+
+  local deadline=$((start + TIMEOUT_SECONDS * 1000))
+  until curl -sf "http://localhost:$PORT/api/orders?limit=1" >/dev/null 2>&1; do
+    if [ "$(date +%s%3N)" -gt "$deadline" ]; then
+      docker logs "$BACKEND" >&2
+      echo "Backend did not answer GET /api/orders within ${TIMEOUT_SECONDS}s" >&2
+      exit 1
+    fi
+    sleep 0.05
+  done
+  local end
+  end=$(date +%s%3N)
+
+  docker rm -f "$BACKEND" >/dev/null
+  echo $((end - start))
+}
+
+# Median of RUNS starts, so one slow container start does not decide the result
+measure() {
+  local times=() time_ms
+  for _ in $(seq "$RUNS"); do
+    time_ms=$(measure_once "$@")
+    times+=("$time_ms")
+  done
+  printf '%s\n' "${times[@]}" | sort -n | sed -n "$(((RUNS + 1) / 2))p"
+}
+
+baseline_ms=$(measure "default" --entrypoint java "$IMAGE" -jar app.jar)
+optimized_ms=$(measure "prod" "$IMAGE")
+
+report="| Startup | Time to first GET /api/orders (median of ${RUNS}) |
+|---|---|
+| Baseline (default JVM flags, eager init) | ${baseline_ms} ms |
+| Optimized (AppCDS, prod profile) | ${optimized_ms} ms |"
+
+echo "$report"
+if [ -n "${GITHUB_STEP_SUMMARY:-}" ]; then
+  printf '### Backend startup time\n\n%s\n' "$report" >> "$GITHUB_STEP_SUMMARY"
+fi
+
+if [ $((optimized_ms * 2)) -gt "$baseline_ms" ]; then
+  echo "Optimized startup (${optimized_ms} ms) is not at most half of the baseline (${baseline_ms} ms)" >&2
+  exit 1
+fi
@@ -0,0 +1,142 @@
+package com.optivem.eshop.backend.api.controller;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.optivem.eshop.backend.core.dtos.BrowseOrderHistoryResponse;
+import com.optivem.eshop.backend.core.dtos.PlaceOrderRequest;
+import com.optivem.eshop.backend.core.dtos.ViewOrderDetailsResponse;
+import com.optivem.eshop.backend.core.entities.OrderStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+// The OrderController payloads through Spring's default mapper settings, with and without Blackbird and readers and
+// writers resolved up front, as JacksonConfig sets them up.
+// Run with -Pjmh.profilers=gc; gc.alloc.rate.norm is the bytes allocated per request
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OrderPayloadBenchmark {
+
+    private static final int HISTORY_SIZE = 50;
+
+    private final ObjectMapper plainMapper = createMapper(false);
+    private final ObjectMapper blackbirdMapper = createMapper(true);
+    private ObjectReader placeOrderReader;
+    private ObjectWriter orderDetailsWriter;
+    private ObjectWriter orderHistoryWriter;
+    private byte[] placeOrderBody;
+    private ViewOrderDetailsResponse orderDetails;
+    private BrowseOrderHistoryResponse orderHistory;
+
+    @Setup
+    public void preparePayloads() {
+        placeOrderReader = blackbirdMapper.readerFor(PlaceOrderRequest.class);
+        orderDetailsWriter = blackbirdMapper.writerFor(ViewOrderDetailsResponse.class);
+        orderHistoryWriter = blackbirdMapper.writerFor(BrowseOrderHistoryResponse.class);
+
+        placeOrderBody = "{\"sku\":\"APPLE1001\",\"quantity\":5,\"country\":\"US\",\"couponCode\":\"SUMMER2026\"}"
+                .getBytes(StandardCharsets.UTF_8);
+        orderDetails = newOrderDetails();
+
+        var items = new ArrayList<BrowseOrderHistoryResponse.BrowseOrderHistoryItemResponse>();
+        for (var i = 0; i < HISTORY_SIZE; i++) {
+            var item = new BrowseOrderHistoryResponse.BrowseOrderHistoryItemResponse();
+            item.setOrderNumber("ORD-" + (1_000_000 + i));
+            item.setOrderTimestamp(Instant.parse("2026-01-18T10:15:30Z").plusSeconds(i));
+            item.setSku("APPLE1001");
+            item.setCountry("US");
+            item.setQuantity(1 + i % 5);
+            item.setTotalPrice(new BigDecimal("855.99"));
+            item.setStatus(OrderStatus.PLACED);
+            items.add(item);
+        }
+        orderHistory = new BrowseOrderHistoryResponse();
+        orderHistory.setOrders(items);
+    }
+
+    @Benchmark
+    public PlaceOrderRequest readPlaceOrderPlain() throws IOException {
+        return plainMapper.readValue(placeOrderBody, PlaceOrderRequest.class);
+    }
+
+    @Benchmark
+    public PlaceOrderRequest readPlaceOrderTuned() throws IOException {
+        return placeOrderReader.readValue(placeOrderBody);
+    }
+
+    @Benchmark
+    public byte[] writeOrderDetailsPlain() throws IOException {
+        return plainMapper.writeValueAsBytes(orderDetails);
+    }
+
+    @Benchmark
+    public byte[] writeOrderDetailsTuned() throws IOException {
+        return orderDetailsWriter.writeValueAsBytes(orderDetails);
+    }
+
+    @Benchmark
+    public byte[] writeOrderHistoryPlain() throws IOException {
+        return plainMapper.writeValueAsBytes(orderHistory);
+    }
+
+    @Benchmark
+    public byte[] writeOrderHistoryTuned() throws IOException {
+        return orderHistoryWriter.writeValueAsBytes(orderHistory);
+    }
+
+    // The features Spring Boot's Jackson2ObjectMapperBuilder changes from the Jackson defaults
+    private static ObjectMapper createMapper(boolean blackbird) {
+        var builder = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        if (blackbird) {
+            builder.addModule(new BlackbirdModule());
+        }
+        return builder.build();
+    }
+
+    private static ViewOrderDetailsResponse newOrderDetails() {
+        var details = new ViewOrderDetailsResponse();
+        details.setOrderNumber("ORD-1000000");
+        details.setOrderTimestamp(Instant.parse("2026-01-18T10:15:30Z"));
+        details.setSku("APPLE1001");
+        details.setQuantity(5);
+        details.setUnitPrice(new BigDecimal("199.99"));
+        details.setBasePrice(new BigDecimal("999.95"));
+        details.setDiscountRate(new BigDecimal("0.1000"));
+        details.setDiscountAmount(new BigDecimal("100.00"));
+        details.setSubtotalPrice(new BigDecimal("899.95"));
+        details.setTaxRate(new BigDecimal("0.0700"));
+        details.setTaxAmount(new BigDecimal("63.00"));
+        details.setTotalPrice(new BigDecimal("962.95"));
+        details.setStatus(OrderStatus.PLACED);
+        details.setCountry("US");
+        details.setAppliedCouponCode("SUMMER2026");
+        return details;
+    }
+}
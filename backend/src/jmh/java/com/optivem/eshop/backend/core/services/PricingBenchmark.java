@@ -0,0 +1,70 @@
+package com.optivem.eshop.backend.core.services;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// The long minor-unit path against the BigDecimal path it replaces, over the same prepared inputs
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PricingBenchmark {
+
+    private static final int INPUTS = 1024;
+
+    private final PricingService pricingService = new PricingService();
+    private final BigDecimal[] unitPrices = new BigDecimal[INPUTS];
+    private final int[] quantities = new int[INPUTS];
+    private final BigDecimal[] discountRates = new BigDecimal[INPUTS];
+    private final BigDecimal[] taxRates = new BigDecimal[INPUTS];
+    private int next;
+
+    @Setup
+    public void prepareInputs() {
+        var random = new Random(42);
+        for (var i = 0; i < INPUTS; i++) {
+            unitPrices[i] = BigDecimal.valueOf(random.nextLong(1_000_000L), PricingService.MONEY_SCALE);
+            quantities[i] = 1 + random.nextInt(20);
+            discountRates[i] = BigDecimal.valueOf(random.nextInt(3) * 500L, PricingService.RATE_SCALE);
+            taxRates[i] = BigDecimal.valueOf(random.nextInt(2_500), PricingService.RATE_SCALE);
+        }
+    }
+
+    @Benchmark
+    public PricingService.PriceBreakdown minorUnits() {
+        var i = nextIndex();
+        return pricingService.calculateInMinorUnits(unitPrices[i], quantities[i], discountRates[i], taxRates[i]);
+    }
+
+    @Benchmark
+    public PricingService.PriceBreakdown bigDecimal() {
+        var i = nextIndex();
+        return pricingService.calculateInBigDecimal(unitPrices[i], quantities[i], discountRates[i], taxRates[i]);
+    }
+
+    // Includes the input rounding that placeOrder pays on every call
+    @Benchmark
+    public PricingService.PriceBreakdown calculate() {
+        var i = nextIndex();
+        return pricingService.calculate(unitPrices[i], quantities[i], discountRates[i], taxRates[i]);
+    }
+
+    private int nextIndex() {
+        next = (next + 1) & (INPUTS - 1);
+        return next;
+    }
+}
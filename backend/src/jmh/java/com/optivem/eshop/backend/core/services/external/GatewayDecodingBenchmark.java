@@ -0,0 +1,123 @@
+package com.optivem.eshop.backend.core.services.external;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.optivem.eshop.backend.core.dtos.external.GetTimeResponse;
+import com.optivem.eshop.backend.core.dtos.external.ProductDetailsResponse;
+import com.optivem.eshop.backend.core.dtos.external.TaxDetailsResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.net.ssl.SSLSession;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Decoding one 200 response per gateway: the String body parsed by a plain ObjectMapper, as the gateways used to,
+// against the stream (blocking) and byte[] (async) paths of GatewayJson.
+// Run with -Pjmh.profilers=gc; gc.alloc.rate.norm is the bytes allocated per request
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GatewayDecodingBenchmark {
+
+    private static final Map<String, Class<?>> RESPONSE_TYPES = Map.of(
+            "erp", ProductDetailsResponse.class,
+            "tax", TaxDetailsResponse.class,
+            "clock", GetTimeResponse.class);
+
+    private static final Map<String, String> RESPONSE_BODIES = Map.of(
+            "erp", "{\"id\":\"APPLE1001\",\"title\":\"Apple iPhone 15\",\"description\":\"6.1-inch display\","
+                    + "\"category\":\"smartphones\",\"brand\":\"Apple\",\"price\":799.99}",
+            "tax", "{\"id\":\"US\",\"countryName\":\"United States\",\"taxRate\":0.07}",
+            "clock", "{\"time\":\"2026-01-18T10:15:30.123Z\"}");
+
+    @Param({"erp", "tax", "clock"})
+    private String gateway;
+
+    // Without Blackbird, as before
+    private final ObjectMapper stringMapper = JsonMapper.builder().addModule(new JavaTimeModule()).build();
+    private Class<?> responseType;
+    private ObjectReader reader;
+    private byte[] body;
+
+    @Setup
+    public void prepareResponse() {
+        responseType = RESPONSE_TYPES.get(gateway);
+        reader = GatewayJson.readerFor(responseType);
+        body = RESPONSE_BODIES.get(gateway).getBytes(StandardCharsets.UTF_8);
+    }
+
+    // BodyHandlers.ofString followed by readValue(String, Class)
+    @Benchmark
+    public Object decodeString() throws IOException {
+        return stringMapper.readValue(new String(body, StandardCharsets.UTF_8), responseType);
+    }
+
+    @Benchmark
+    public Object decodeStream() throws IOException {
+        return GatewayJson.read(new StubResponse(200, new ByteArrayInputStream(body)), reader).body();
+    }
+
+    // What GatewayJson.asyncBodyHandler runs once the bytes are buffered
+    @Benchmark
+    public Object decodeBytes() throws IOException {
+        return reader.readValue(body);
+    }
+
+    private record StubResponse(int statusCode, InputStream body) implements HttpResponse<InputStream> {
+
+        @Override
+        public HttpRequest request() {
+            return null;
+        }
+
+        @Override
+        public Optional<HttpResponse<InputStream>> previousResponse() {
+            return Optional.empty();
+        }
+
+        @Override
+        public HttpHeaders headers() {
+            return HttpHeaders.of(Map.of(), (name, value) -> true);
+        }
+
+        @Override
+        public Optional<SSLSession> sslSession() {
+            return Optional.empty();
+        }
+
+        @Override
+        public URI uri() {
+            return null;
+        }
+
+        @Override
+        public HttpClient.Version version() {
+            return HttpClient.Version.HTTP_1_1;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.optivem.eshop.backend.api.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.optivem.eshop.backend.api.exception.ProblemDetailFactory;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Rejects order requests before they reach a controller: 429 when the client is over its rate, 503 when the node is full
+@Component
+@Profile("!reactive")
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    static final String API_KEY_HEADER = "X-API-Key";
+    private static final String ORDERS_PATH = "/api/orders";
+    private static final String ORDER_EVENTS_PATH = "/api/orders/events";
+
+    private final RateLimiter rateLimiter;
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final ProblemDetailFactory problemDetailFactory;
+    private final ObjectMapper objectMapper;
+
+    public AdmissionFilter(RateLimiter rateLimiter, ConcurrencyLimiter concurrencyLimiter,
+                           ProblemDetailFactory problemDetailFactory, ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.problemDetailFactory = problemDetailFactory;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return (!rateLimiter.isEnabled() && !concurrencyLimiter.isEnabled())
+                || !isAdmissionControlled(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (rateLimiter.isEnabled()) {
+            var clientKey = rateLimiter.clientKey(request.getHeader(API_KEY_HEADER), request.getRemoteAddr());
+            var retryAfterMillis = rateLimiter.tryAcquire(clientKey);
+            if (retryAfterMillis > 0) {
+                reject(response, problemDetailFactory.tooManyRequests(), retryAfterMillis);
+                return;
+            }
+        }
+
+        if (!concurrencyLimiter.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!concurrencyLimiter.tryAcquire()) {
+            reject(response, problemDetailFactory.serviceUnavailable(), concurrencyLimiter.getRetryAfterMillis());
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            concurrencyLimiter.release();
+        }
+    }
+
+    private void reject(HttpServletResponse response, ProblemDetail problemDetail, long retryAfterMillis) throws IOException {
+        response.setStatus(problemDetail.getStatus());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds(retryAfterMillis));
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), problemDetail);
+    }
+
+    // The event stream is long-lived and cheap per event, so it is neither rate limited nor holds a permit
+    static boolean isAdmissionControlled(String path) {
+        return path.equals(ORDERS_PATH)
+                || (path.startsWith(ORDERS_PATH + "/") && !path.equals(ORDER_EVENTS_PATH));
+    }
+
+    static String retryAfterSeconds(long retryAfterMillis) {
+        return Long.toString(Math.max(1, (retryAfterMillis + 999) / 1000));
+    }
+}
@@ -0,0 +1,40 @@
+package com.optivem.eshop.backend.api.admission;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+
+// Caps in-flight order requests so excess load is shed before the gateways and the connection pool saturate
+@Component
+public class ConcurrencyLimiter {
+
+    private final boolean enabled;
+    private final Semaphore permits;
+    private final long retryAfterMillis;
+
+    public ConcurrencyLimiter(@Value("${admission.concurrency.enabled:false}") boolean enabled,
+                              @Value("${admission.concurrency.max-concurrent-requests:64}") int maxConcurrentRequests,
+                              @Value("${admission.concurrency.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.enabled = enabled;
+        this.permits = new Semaphore(maxConcurrentRequests);
+        this.retryAfterMillis = retryAfterSeconds * 1000;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Never waits: a request that cannot get a permit right away is rejected
+    public boolean tryAcquire() {
+        return permits.tryAcquire();
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
@@ -0,0 +1,42 @@
+package com.optivem.eshop.backend.api.admission;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Shares rate limit buckets between nodes; each decision is a single atomic upsert on rate_limit_buckets
+@Component
+public class PostgresRateLimitStore {
+
+    // GCRA: admit when the stored arrival time is within the burst tolerance of now, then push it one interval forward
+    private static final String ACQUIRE_SQL = """
+            INSERT INTO rate_limit_buckets AS b (bucket_key, tat_millis) VALUES (?, ?)
+            ON CONFLICT (bucket_key) DO UPDATE SET tat_millis = GREATEST(b.tat_millis + ?, EXCLUDED.tat_millis)
+            WHERE b.tat_millis - ? <= ?
+            """;
+
+    private static final String TAT_SQL = "SELECT tat_millis FROM rate_limit_buckets WHERE bucket_key = ?";
+    private static final String DELETE_IDLE_SQL = "DELETE FROM rate_limit_buckets WHERE tat_millis <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PostgresRateLimitStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Returns 0 when admitted, otherwise the milliseconds until the next request would be admitted
+    public long tryAcquire(String key, long intervalMillis, long toleranceMillis) {
+        var now = System.currentTimeMillis();
+        var updated = jdbcTemplate.update(ACQUIRE_SQL, key, now + intervalMillis, intervalMillis, now, toleranceMillis);
+        if (updated > 0) {
+            return 0;
+        }
+
+        var tat = jdbcTemplate.queryForObject(TAT_SQL, Long.class, key);
+        return tat == null ? intervalMillis : Math.max(1, tat - now - toleranceMillis);
+    }
+
+    // Every node runs this; deleting a full bucket is harmless, as the next request inserts it again
+    public int deleteIdleBuckets() {
+        return jdbcTemplate.update(DELETE_IDLE_SQL, System.currentTimeMillis());
+    }
+}
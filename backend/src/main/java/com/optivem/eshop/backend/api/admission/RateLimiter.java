@@ -0,0 +1,111 @@
+package com.optivem.eshop.backend.api.admission;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token bucket per client, implemented as GCRA: one CAS on a single long per request, no locks or refill timers.
+// Idle buckets are evicted on a schedule, never on the request path
+@Component
+@Lazy(false)
+public class RateLimiter {
+
+    private static final String STORE_POSTGRES = "postgres";
+    // Clients that arrive while every tracked bucket is busy share this one until the next eviction
+    private static final String OVERFLOW_KEY = "overflow";
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final PostgresRateLimitStore postgresStore;
+    private final boolean enabled;
+    private final boolean sharedStore;
+    private final Set<String> apiKeys;
+    private final int maxTrackedClients;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+
+    public RateLimiter(PostgresRateLimitStore postgresStore,
+                       @Value("${admission.rate-limit.enabled:false}") boolean enabled,
+                       @Value("${admission.rate-limit.store:memory}") String store,
+                       @Value("${admission.rate-limit.requests-per-second:20}") double requestsPerSecond,
+                       @Value("${admission.rate-limit.burst:40}") int burst,
+                       @Value("${admission.rate-limit.api-keys:}") List<String> apiKeys,
+                       @Value("${admission.rate-limit.max-tracked-clients:100000}") int maxTrackedClients) {
+        if (requestsPerSecond <= 0) {
+            throw new IllegalArgumentException("admission.rate-limit.requests-per-second must be positive");
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("admission.rate-limit.burst must be at least 1");
+        }
+        this.postgresStore = postgresStore;
+        this.enabled = enabled;
+        this.sharedStore = STORE_POSTGRES.equalsIgnoreCase(store);
+        this.apiKeys = Set.copyOf(apiKeys.stream().map(String::trim).filter(key -> !key.isEmpty()).toList());
+        this.maxTrackedClients = maxTrackedClients;
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+        this.toleranceNanos = intervalNanos * (burst - 1);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // The shared store does a blocking JDBC round trip
+    public boolean usesSharedStore() {
+        return sharedStore;
+    }
+
+    // Configured integrations get a bucket per API key. Any other caller, including one sending an unknown key, gets
+    // the bucket of its address, which the forwarded headers of trusted proxies resolve to the real client
+    public String clientKey(String apiKey, String remoteAddress) {
+        return apiKey != null && apiKeys.contains(apiKey) ? "key:" + apiKey : "ip:" + remoteAddress;
+    }
+
+    // Returns 0 when admitted, otherwise the milliseconds until the client's next request would be admitted
+    public long tryAcquire(String clientKey) {
+        if (sharedStore) {
+            return postgresStore.tryAcquire(clientKey,
+                    Math.max(1, TimeUnit.NANOSECONDS.toMillis(intervalNanos)),
+                    TimeUnit.NANOSECONDS.toMillis(toleranceNanos));
+        }
+
+        var now = System.nanoTime();
+        var bucket = buckets.get(clientKey);
+        if (bucket == null) {
+            var key = buckets.size() < maxTrackedClients ? clientKey : OVERFLOW_KEY;
+            bucket = buckets.computeIfAbsent(key, ignored -> new AtomicLong(now));
+        }
+
+        while (true) {
+            var tat = bucket.get();
+            var base = tat - now > 0 ? tat : now;
+            if (base - now > toleranceNanos) {
+                return Math.max(1, TimeUnit.NANOSECONDS.toMillis(base - now - toleranceNanos));
+            }
+            if (bucket.compareAndSet(tat, base + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    // A bucket whose arrival time has passed is full again, which is the same as not tracking it
+    @Scheduled(fixedDelayString = "${admission.rate-limit.eviction-interval-ms:10000}")
+    public void evictIdleBuckets() {
+        if (!enabled) {
+            return;
+        }
+        if (sharedStore) {
+            postgresStore.deleteIdleBuckets();
+            return;
+        }
+
+        var now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+}
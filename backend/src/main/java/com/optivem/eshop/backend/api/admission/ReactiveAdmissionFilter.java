@@ -0,0 +1,88 @@
+package com.optivem.eshop.backend.api.admission;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.optivem.eshop.backend.api.exception.ProblemDetailFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+// WebFlux counterpart of AdmissionFilter with the same limits and responses
+@Component
+@Profile("reactive")
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ReactiveAdmissionFilter implements WebFilter {
+
+    private final RateLimiter rateLimiter;
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final ProblemDetailFactory problemDetailFactory;
+    private final ObjectMapper objectMapper;
+
+    public ReactiveAdmissionFilter(RateLimiter rateLimiter, ConcurrencyLimiter concurrencyLimiter,
+                                   ProblemDetailFactory problemDetailFactory, ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.problemDetailFactory = problemDetailFactory;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if ((!rateLimiter.isEnabled() && !concurrencyLimiter.isEnabled())
+                || !AdmissionFilter.isAdmissionControlled(exchange.getRequest().getPath().value())) {
+            return chain.filter(exchange);
+        }
+
+        return checkRateLimit(exchange).flatMap(retryAfterMillis -> {
+            if (retryAfterMillis > 0) {
+                return reject(exchange, problemDetailFactory.tooManyRequests(), retryAfterMillis);
+            }
+            if (!concurrencyLimiter.isEnabled()) {
+                return chain.filter(exchange);
+            }
+            if (!concurrencyLimiter.tryAcquire()) {
+                return reject(exchange, problemDetailFactory.serviceUnavailable(), concurrencyLimiter.getRetryAfterMillis());
+            }
+            return chain.filter(exchange).doFinally(signal -> concurrencyLimiter.release());
+        });
+    }
+
+    private Mono<Long> checkRateLimit(ServerWebExchange exchange) {
+        if (!rateLimiter.isEnabled()) {
+            return Mono.just(0L);
+        }
+
+        var remoteAddress = exchange.getRequest().getRemoteAddress();
+        var clientKey = rateLimiter.clientKey(
+                exchange.getRequest().getHeaders().getFirst(AdmissionFilter.API_KEY_HEADER),
+                remoteAddress != null ? remoteAddress.getAddress().getHostAddress() : "unknown");
+
+        var check = Mono.fromCallable(() -> rateLimiter.tryAcquire(clientKey));
+        // The shared store blocks on JDBC, which must not happen on the event loop
+        return rateLimiter.usesSharedStore() ? check.subscribeOn(Schedulers.boundedElastic()) : check;
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, ProblemDetail problemDetail, long retryAfterMillis) {
+        var response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.valueOf(problemDetail.getStatus()));
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, AdmissionFilter.retryAfterSeconds(retryAfterMillis));
+        response.getHeaders().setContentType(MediaType.APPLICATION_PROBLEM_JSON);
+
+        try {
+            var body = objectMapper.writeValueAsBytes(problemDetail);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+    }
+}
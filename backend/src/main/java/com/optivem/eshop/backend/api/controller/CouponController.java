@@ -1,25 +1,40 @@
 package com.optivem.eshop.backend.api.controller;
 
+import com.optivem.eshop.backend.core.dtos.BrowseCouponImportsResponse;
+import com.optivem.eshop.backend.core.dtos.CouponImportResponse;
+import com.optivem.eshop.backend.core.dtos.GenerateCouponsRequest;
 import com.optivem.eshop.backend.core.dtos.PublishCouponRequest;
 import com.optivem.eshop.backend.core.dtos.BrowseCouponsResponse;
+import com.optivem.eshop.backend.core.entities.Coupon;
+import com.optivem.eshop.backend.core.services.CouponImportService;
 import com.optivem.eshop.backend.core.services.CouponService;
 import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.InputStream;
+
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/coupons")
 public class CouponController {
 
+    static final String TEXT_CSV = "text/csv";
+
     private final CouponService couponService;
+    private final CouponImportService couponImportService;
 
-    public CouponController(CouponService couponService) {
+    public CouponController(CouponService couponService, CouponImportService couponImportService) {
         this.couponService = couponService;
+        this.couponImportService = couponImportService;
     }
 
     @PostMapping
@@ -34,23 +49,51 @@ public class CouponController {
         );
     }
 
+    @PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public CouponImportResponse generateCoupons(@Valid @RequestBody GenerateCouponsRequest request) {
+        return couponImportService.generate(
+                request.getPattern(),
+                request.getCount(),
+                request.getDiscountRate(),
+                request.getValidFrom(),
+                request.getValidTo(),
+                request.getUsageLimit()
+        );
+    }
+
+    // The body is streamed into COPY as it arrives, so large files are never held in memory
+    @PostMapping(path = "/bulk", consumes = TEXT_CSV)
+    public CouponImportResponse importCoupons(InputStream csv) {
+        return couponImportService.importCsv(csv);
+    }
+
+    // Imports still running on this node, with rows copied so far
+    @GetMapping("/bulk")
+    public BrowseCouponImportsResponse browseCouponImports() {
+        return couponImportService.browseRunningImports();
+    }
+
     @GetMapping
-    public BrowseCouponsResponse browseCoupons() {
-        var items = couponService.getAllCoupons().stream()
-                .map(coupon -> {
-                    var response = new BrowseCouponsResponse.BrowseCouponsItemResponse();
-                    response.setCode(coupon.getCode());
-                    response.setDiscountRate(coupon.getDiscountRate());
-                    response.setValidFrom(coupon.getValidFrom());
-                    response.setValidTo(coupon.getValidTo());
-                    response.setUsageLimit(coupon.getUsageLimit());
-                    response.setUsedCount(coupon.getUsedCount());
-                    return response;
-                })
+    public BrowseCouponsResponse browseCoupons(@RequestParam(defaultValue = "false") boolean active) {
+        var coupons = active ? couponService.getActiveCoupons() : couponService.getAllCoupons();
+        var items = coupons.stream()
+                .map(CouponController::toBrowseItem)
                 .toList();
         
         var result = new BrowseCouponsResponse();
         result.setCoupons(items);
         return result;
     }
+
+    // Shared with ReactiveCouponController so both stacks return identical payloads
+    static BrowseCouponsResponse.BrowseCouponsItemResponse toBrowseItem(Coupon coupon) {
+        var response = new BrowseCouponsResponse.BrowseCouponsItemResponse();
+        response.setCode(coupon.getCode());
+        response.setDiscountRate(coupon.getDiscountRate());
+        response.setValidFrom(coupon.getValidFrom());
+        response.setValidTo(coupon.getValidTo());
+        response.setUsageLimit(coupon.getUsageLimit());
+        response.setUsedCount(coupon.getUsedCount());
+        return response;
+    }
 }
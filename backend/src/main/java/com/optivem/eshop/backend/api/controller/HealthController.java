@@ -2,6 +2,8 @@ package com.optivem.eshop.backend.api.controller;
 
 import org.springframework.boot.actuate.health.HealthComponent;
 import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.HttpCodeStatusMapper;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -9,14 +11,17 @@ import org.springframework.web.bind.annotation.RestController;
 public class HealthController {
 
     private final HealthEndpoint healthEndpoint;
+    private final HttpCodeStatusMapper statusMapper;
 
-    public HealthController(HealthEndpoint healthEndpoint) {
+    public HealthController(HealthEndpoint healthEndpoint, HttpCodeStatusMapper statusMapper) {
         this.healthEndpoint = healthEndpoint;
+        this.statusMapper = statusMapper;
     }
 
+    // 503 while DOWN or OUT_OF_SERVICE, e.g. until startup warm-up has finished, so probes hold traffic back
     @GetMapping("/health")
-    public HealthComponent checkHealth() {
-        return healthEndpoint.health();
+    public ResponseEntity<HealthComponent> checkHealth() {
+        var health = healthEndpoint.health();
+        return ResponseEntity.status(statusMapper.getStatusCode(health.getStatus())).body(health);
     }
 }
-
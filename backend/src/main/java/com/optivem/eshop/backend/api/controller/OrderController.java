@@ -4,8 +4,12 @@ import com.optivem.eshop.backend.core.dtos.BrowseOrderHistoryResponse;
 import com.optivem.eshop.backend.core.dtos.ViewOrderDetailsResponse;
 import com.optivem.eshop.backend.core.dtos.PlaceOrderRequest;
 import com.optivem.eshop.backend.core.dtos.PlaceOrderResponse;
+import com.optivem.eshop.backend.core.dtos.QuoteOrderRequest;
+import com.optivem.eshop.backend.core.dtos.QuoteOrderResponse;
 import com.optivem.eshop.backend.core.services.OrderService;
+import com.optivem.eshop.backend.core.services.QuoteService;
 import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -17,18 +21,24 @@ import org.springframework.web.bind.annotation.RestController;
 import java.net.URI;
 
 @RestController
+@Profile("!reactive")
 public class OrderController {
 
     private final OrderService orderService;
+    private final QuoteService quoteService;
     
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, QuoteService quoteService) {
         this.orderService = orderService;
+        this.quoteService = quoteService;
     }
 
+    // Archived orders are only listed with includeArchived=true, though GET /api/orders/{orderNumber} always finds them
     @GetMapping("/api/orders")
-    public ResponseEntity<BrowseOrderHistoryResponse> browseOrderHistory(@RequestParam(required = false) String orderNumber) {
-        var response = orderService.browseOrderHistory(orderNumber);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<BrowseOrderHistoryResponse> browseOrderHistory(@RequestParam(required = false) String orderNumber,
+                                                                         @RequestParam(required = false) Integer limit,
+                                                                         @RequestParam(defaultValue = "false") boolean includeArchived) {
+        var response = orderService.browseOrderHistory(orderNumber, limit, includeArchived);
+        return OrderHttpCaching.history(response);
     }
 
     @PostMapping("/api/orders")
@@ -38,10 +48,16 @@ public class OrderController {
         return ResponseEntity.created(location).body(response);
     }
 
+    @PostMapping("/api/orders/quote")
+    public ResponseEntity<QuoteOrderResponse> quoteOrder(@Valid @RequestBody QuoteOrderRequest request) {
+        var response = quoteService.quoteOrder(request);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/api/orders/{orderNumber}")
     public ResponseEntity<ViewOrderDetailsResponse> getOrder(@PathVariable String orderNumber) {
         var response = orderService.getOrder(orderNumber);
-        return ResponseEntity.ok(response);
+        return OrderHttpCaching.details(response);
     }
 
     @PostMapping("/api/orders/{orderNumber}/cancel")
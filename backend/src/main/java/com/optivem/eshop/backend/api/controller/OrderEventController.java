@@ -0,0 +1,24 @@
+package com.optivem.eshop.backend.api.controller;
+
+import com.optivem.eshop.backend.api.events.OrderEventBroadcaster;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@Profile("!reactive")
+public class OrderEventController {
+
+    private final OrderEventBroadcaster orderEventBroadcaster;
+
+    public OrderEventController(OrderEventBroadcaster orderEventBroadcaster) {
+        this.orderEventBroadcaster = orderEventBroadcaster;
+    }
+
+    @GetMapping(path = "/api/orders/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrderEvents() {
+        return orderEventBroadcaster.subscribe();
+    }
+}
@@ -0,0 +1,71 @@
+package com.optivem.eshop.backend.api.controller;
+
+import com.optivem.eshop.backend.core.dtos.BrowseOrderHistoryResponse;
+import com.optivem.eshop.backend.core.dtos.ViewOrderDetailsResponse;
+import com.optivem.eshop.backend.core.entities.OrderStatus;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.Objects;
+
+// Validators for order reads, shared by both stacks. ETags hash every field of the response, so any change to what a
+// client would receive, not only a status change, gives a new ETag. Spring answers a matching If-None-Match with 304
+// before the body is serialized.
+final class OrderHttpCaching {
+
+    // Bump when the response shape changes, so clients do not revalidate an old body against a new ETag
+    private static final String REPRESENTATION_VERSION = "v1";
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+    private static final CacheControl TERMINAL = CacheControl.maxAge(Duration.ofDays(1)).cachePrivate().immutable();
+
+    private OrderHttpCaching() {
+    }
+
+    static ResponseEntity<ViewOrderDetailsResponse> details(ViewOrderDetailsResponse order) {
+        // A cancelled order can no longer change; any other status may still move on
+        var cacheControl = order.getStatus() == OrderStatus.CANCELLED ? TERMINAL : REVALIDATE;
+        return ResponseEntity.ok()
+                .eTag(REPRESENTATION_VERSION + "-" + Long.toHexString(hash(order)))
+                .cacheControl(cacheControl)
+                .body(order);
+    }
+
+    // Weak, since Tomcat does not compress responses with a strong ETag and history bodies are large enough to gzip;
+    // If-None-Match uses the weak comparison, so 304s are unaffected
+    static ResponseEntity<BrowseOrderHistoryResponse> history(BrowseOrderHistoryResponse history) {
+        return ResponseEntity.ok()
+                .eTag("W/\"" + REPRESENTATION_VERSION + "-" + Long.toHexString(hash(history)) + "\"")
+                .cacheControl(REVALIDATE)
+                .body(history);
+    }
+
+    // Covers every serialized field; far cheaper than serializing the body. BigDecimal hashes include the scale,
+    // which the JSON carries too
+    private static long hash(ViewOrderDetailsResponse order) {
+        return hash(0, order.getOrderNumber(), order.getOrderTimestamp(), order.getSku(), order.getQuantity(),
+                order.getUnitPrice(), order.getBasePrice(), order.getDiscountRate(), order.getDiscountAmount(),
+                order.getSubtotalPrice(), order.getTaxRate(), order.getTaxAmount(), order.getTotalPrice(),
+                order.getStatus().name(), order.getCountry(), order.getAppliedCouponCode());
+    }
+
+    // Covers membership, order and every field of the listed orders
+    private static long hash(BrowseOrderHistoryResponse history) {
+        var orders = history.getOrders();
+        long hash = orders.size();
+        for (var order : orders) {
+            hash = hash(hash, order.getOrderNumber(), order.getOrderTimestamp(), order.getSku(), order.getCountry(),
+                    order.getQuantity(), order.getTotalPrice(), order.getStatus().name(), order.getAppliedCouponCode());
+        }
+        return hash;
+    }
+
+    // Fields must hash the same on every node and after restarts, so enums are passed by name rather than by their
+    // identity hash
+    private static long hash(long hash, Object... fields) {
+        for (var field : fields) {
+            hash = 31 * hash + Objects.hashCode(field);
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,93 @@
+package com.optivem.eshop.backend.api.controller;
+
+import com.optivem.eshop.backend.core.dtos.BrowseCouponImportsResponse;
+import com.optivem.eshop.backend.core.dtos.BrowseCouponsResponse;
+import com.optivem.eshop.backend.core.dtos.CouponImportResponse;
+import com.optivem.eshop.backend.core.dtos.GenerateCouponsRequest;
+import com.optivem.eshop.backend.core.dtos.PublishCouponRequest;
+import com.optivem.eshop.backend.core.services.CouponImportService;
+import com.optivem.eshop.backend.core.services.ReactiveCouponService;
+import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+// Same REST contract as CouponController, served by WebFlux when the reactive profile is active
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/coupons")
+public class ReactiveCouponController {
+
+    // Buffers requested ahead from the request body while COPY consumes it
+    private static final int CSV_PREFETCH_BUFFERS = 16;
+
+    private final ReactiveCouponService couponService;
+    private final CouponImportService couponImportService;
+
+    public ReactiveCouponController(ReactiveCouponService couponService, CouponImportService couponImportService) {
+        this.couponService = couponService;
+        this.couponImportService = couponImportService;
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> createCoupon(@Valid @RequestBody PublishCouponRequest request) {
+        return couponService.createCoupon(
+                request.getCode(),
+                request.getDiscountRate(),
+                request.getValidFrom(),
+                request.getValidTo(),
+                request.getUsageLimit()
+        ).then();
+    }
+
+    // Bulk imports run over blocking JDBC COPY, so they are moved off the event loop
+    @PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<CouponImportResponse> generateCoupons(@Valid @RequestBody GenerateCouponsRequest request) {
+        return Mono.fromCallable(() -> couponImportService.generate(
+                        request.getPattern(),
+                        request.getCount(),
+                        request.getDiscountRate(),
+                        request.getValidFrom(),
+                        request.getValidTo(),
+                        request.getUsageLimit()))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @PostMapping(path = "/bulk", consumes = CouponController.TEXT_CSV)
+    public Mono<CouponImportResponse> importCoupons(@RequestBody Flux<DataBuffer> csv) {
+        return Mono.fromCallable(() -> couponImportService.importCsv(
+                        DataBufferUtils.subscriberInputStream(csv, CSV_PREFETCH_BUFFERS)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @GetMapping("/bulk")
+    public BrowseCouponImportsResponse browseCouponImports() {
+        return couponImportService.browseRunningImports();
+    }
+
+    @GetMapping
+    public Mono<BrowseCouponsResponse> browseCoupons(@RequestParam(defaultValue = "false") boolean active) {
+        var coupons = active ? couponService.getActiveCoupons() : couponService.getAllCoupons();
+        return coupons
+                .map(CouponController::toBrowseItem)
+                .collectList()
+                .map(items -> {
+                    var result = new BrowseCouponsResponse();
+                    result.setCoupons(items);
+                    return result;
+                });
+    }
+}
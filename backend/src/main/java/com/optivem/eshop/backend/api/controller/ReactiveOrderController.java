@@ -0,0 +1,78 @@
+package com.optivem.eshop.backend.api.controller;
+
+import com.optivem.eshop.backend.core.dtos.BrowseOrderHistoryResponse;
+import com.optivem.eshop.backend.core.dtos.PlaceOrderRequest;
+import com.optivem.eshop.backend.core.dtos.PlaceOrderResponse;
+import com.optivem.eshop.backend.core.dtos.QuoteOrderRequest;
+import com.optivem.eshop.backend.core.dtos.QuoteOrderResponse;
+import com.optivem.eshop.backend.core.dtos.ViewOrderDetailsResponse;
+import com.optivem.eshop.backend.core.services.ReactiveOrderService;
+import com.optivem.eshop.backend.core.services.ReactiveQuoteService;
+import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+// Same REST contract as OrderController, served by WebFlux when the reactive profile is active
+@RestController
+@Profile("reactive")
+public class ReactiveOrderController {
+
+    private final ReactiveOrderService orderService;
+    private final ReactiveQuoteService quoteService;
+
+    public ReactiveOrderController(ReactiveOrderService orderService, ReactiveQuoteService quoteService) {
+        this.orderService = orderService;
+        this.quoteService = quoteService;
+    }
+
+    // Archived orders are only listed with includeArchived=true, though GET /api/orders/{orderNumber} always finds them
+    @GetMapping("/api/orders")
+    public Mono<ResponseEntity<BrowseOrderHistoryResponse>> browseOrderHistory(@RequestParam(required = false) String orderNumber,
+                                                                               @RequestParam(required = false) Integer limit,
+                                                                               @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return orderService.browseOrderHistory(orderNumber, limit, includeArchived)
+                .map(OrderHttpCaching::history);
+    }
+
+    @PostMapping("/api/orders")
+    public Mono<ResponseEntity<PlaceOrderResponse>> placeOrder(@Valid @RequestBody PlaceOrderRequest request) {
+        return orderService.placeOrder(request)
+                .map(response -> {
+                    var location = URI.create("/api/orders/" + response.getOrderNumber());
+                    return ResponseEntity.created(location).body(response);
+                });
+    }
+
+    @PostMapping("/api/orders/quote")
+    public Mono<ResponseEntity<QuoteOrderResponse>> quoteOrder(@Valid @RequestBody QuoteOrderRequest request) {
+        return quoteService.quoteOrder(request)
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/api/orders/{orderNumber}")
+    public Mono<ResponseEntity<ViewOrderDetailsResponse>> getOrder(@PathVariable String orderNumber) {
+        return orderService.getOrder(orderNumber)
+                .map(OrderHttpCaching::details);
+    }
+
+    @PostMapping("/api/orders/{orderNumber}/cancel")
+    public Mono<ResponseEntity<Void>> cancelOrder(@PathVariable String orderNumber) {
+        return orderService.cancelOrder(orderNumber)
+                .then(Mono.fromSupplier(() -> ResponseEntity.noContent().<Void>build()));
+    }
+
+    @PostMapping("/api/orders/{orderNumber}/deliver")
+    public Mono<ResponseEntity<Void>> deliverOrder(@PathVariable String orderNumber) {
+        return orderService.deliverOrder(orderNumber)
+                .then(Mono.fromSupplier(() -> ResponseEntity.noContent().<Void>build()));
+    }
+}
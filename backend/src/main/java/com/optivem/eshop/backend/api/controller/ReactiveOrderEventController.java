@@ -0,0 +1,26 @@
+package com.optivem.eshop.backend.api.controller;
+
+import com.optivem.eshop.backend.api.events.ReactiveOrderEventBroadcaster;
+import com.optivem.eshop.backend.core.dtos.OrderEventResponse;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+@RestController
+@Profile("reactive")
+public class ReactiveOrderEventController {
+
+    private final ReactiveOrderEventBroadcaster orderEventBroadcaster;
+
+    public ReactiveOrderEventController(ReactiveOrderEventBroadcaster orderEventBroadcaster) {
+        this.orderEventBroadcaster = orderEventBroadcaster;
+    }
+
+    @GetMapping(path = "/api/orders/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<OrderEventResponse>> streamOrderEvents() {
+        return orderEventBroadcaster.subscribe();
+    }
+}
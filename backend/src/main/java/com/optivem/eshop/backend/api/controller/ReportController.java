@@ -0,0 +1,35 @@
+package com.optivem.eshop.backend.api.controller;
+
+import com.optivem.eshop.backend.core.dtos.SalesReportResponse;
+import com.optivem.eshop.backend.core.entities.OrderStatus;
+import com.optivem.eshop.backend.core.services.SalesReportService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/reports")
+public class ReportController {
+
+    private final SalesReportService salesReportService;
+
+    public ReportController(SalesReportService salesReportService) {
+        this.salesReportService = salesReportService;
+    }
+
+    @GetMapping("/sales")
+    public SalesReportResponse getSalesReport(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String sku,
+            @RequestParam(required = false) String country,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) List<String> groupBy) {
+        return salesReportService.getSalesReport(from, to, sku, country, status, groupBy);
+    }
+}
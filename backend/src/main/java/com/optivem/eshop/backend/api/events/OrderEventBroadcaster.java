@@ -0,0 +1,146 @@
+package com.optivem.eshop.backend.api.events;
+
+import com.optivem.eshop.backend.core.dtos.OrderEventResponse;
+import com.optivem.eshop.backend.core.events.OrderChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@Profile("!reactive")
+public class OrderEventBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderEventBroadcaster.class);
+    private static final String EVENT_NAME = "order";
+
+    private final ConcurrentHashMap<Long, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final AtomicLong subscriberIds = new AtomicLong();
+    private final AtomicLong eventIds = new AtomicLong();
+
+    @Value("${orders.events.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${orders.events.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    @Value("${orders.events.heartbeat-interval-ms:15000}")
+    private long heartbeatIntervalMs;
+
+    @Value("${orders.events.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many order event subscribers");
+        }
+
+        var emitter = new SseEmitter(timeoutMs);
+        var subscriber = new Subscriber(subscriberIds.incrementAndGet(), emitter, new ArrayBlockingQueue<>(bufferSize));
+        subscribers.put(subscriber.id, subscriber);
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+
+        // A parked virtual thread per subscriber keeps idle connections nearly free
+        subscriber.writer = Thread.ofVirtual()
+                .name("order-events-" + subscriber.id)
+                .start(() -> writeEvents(subscriber));
+        return emitter;
+    }
+
+    @EventListener
+    public void onOrderChanged(OrderChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        var response = toResponse(event);
+        for (var subscriber : subscribers.values()) {
+            // Never block the publishing request; a client that cannot keep up is disconnected and resyncs on reconnect
+            if (!subscriber.buffer.offer(response)) {
+                log.debug("Disconnecting slow order event subscriber {}", subscriber.id);
+                remove(subscriber);
+                subscriber.emitter.complete();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(subscriber -> {
+            remove(subscriber);
+            subscriber.emitter.complete();
+        });
+    }
+
+    private void writeEvents(Subscriber subscriber) {
+        try {
+            while (subscribers.containsKey(subscriber.id)) {
+                var event = subscriber.buffer.poll(heartbeatIntervalMs, TimeUnit.MILLISECONDS);
+                if (event == null) {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .id(Long.toString(eventIds.incrementAndGet()))
+                            .name(EVENT_NAME)
+                            .data(event, MediaType.APPLICATION_JSON));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | IllegalStateException e) {
+            // Client went away or the emitter was already completed
+            remove(subscriber);
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (subscribers.remove(subscriber.id) != null && subscriber.writer != null) {
+            subscriber.writer.interrupt();
+        }
+    }
+
+    static OrderEventResponse toResponse(OrderChangedEvent event) {
+        var order = event.order();
+        var response = new OrderEventResponse();
+        response.setOrderNumber(order.getOrderNumber());
+        response.setOrderTimestamp(order.getOrderTimestamp());
+        response.setSku(order.getSku());
+        response.setCountry(order.getCountry());
+        response.setQuantity(order.getQuantity());
+        response.setTotalPrice(order.getTotalPrice());
+        response.setStatus(order.getStatus());
+        response.setPreviousStatus(event.previousStatus());
+        response.setAppliedCouponCode(order.getAppliedCouponCode());
+        return response;
+    }
+
+    private static final class Subscriber {
+        private final long id;
+        private final SseEmitter emitter;
+        private final BlockingQueue<OrderEventResponse> buffer;
+        private volatile Thread writer;
+
+        private Subscriber(long id, SseEmitter emitter, BlockingQueue<OrderEventResponse> buffer) {
+            this.id = id;
+            this.emitter = emitter;
+            this.buffer = buffer;
+        }
+    }
+}
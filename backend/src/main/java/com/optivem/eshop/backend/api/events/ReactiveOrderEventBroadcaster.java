@@ -0,0 +1,73 @@
+package com.optivem.eshop.backend.api.events;
+
+import com.optivem.eshop.backend.core.dtos.OrderEventResponse;
+import com.optivem.eshop.backend.core.events.OrderChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Reactive counterpart of OrderEventBroadcaster: same event stream and slow-subscriber policy, without a thread per client
+@Component
+@Profile("reactive")
+public class ReactiveOrderEventBroadcaster {
+
+    private static final String EVENT_NAME = "order";
+
+    private final Sinks.Many<OrderEventResponse> sink = Sinks.many().multicast().directBestEffort();
+    private final AtomicLong eventIds = new AtomicLong();
+
+    @Value("${orders.events.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${orders.events.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    @Value("${orders.events.heartbeat-interval-ms:15000}")
+    private long heartbeatIntervalMs;
+
+    @Value("${orders.events.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    public Flux<ServerSentEvent<OrderEventResponse>> subscribe() {
+        if (sink.currentSubscriberCount() >= maxSubscribers) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many order event subscribers");
+        }
+
+        return sink.asFlux()
+                // A client that cannot keep up is disconnected and resyncs on reconnect
+                .onBackpressureBuffer(bufferSize)
+                .onErrorResume(Exceptions::isOverflow, error -> Flux.empty())
+                .map(event -> ServerSentEvent.builder(event)
+                        .id(Long.toString(eventIds.incrementAndGet()))
+                        .event(EVENT_NAME)
+                        .build())
+                .publish(events -> Flux.merge(events, Flux.interval(Duration.ofMillis(heartbeatIntervalMs))
+                        .map(tick -> ServerSentEvent.<OrderEventResponse>builder().comment("heartbeat").build())
+                        .takeUntilOther(events.then())))
+                .take(Duration.ofMillis(timeoutMs));
+    }
+
+    @EventListener
+    public synchronized void onOrderChanged(OrderChangedEvent event) {
+        // Serialized because the sink rejects concurrent emissions; emitting never blocks the publishing request
+        if (sink.currentSubscriberCount() > 0) {
+            sink.tryEmitNext(OrderEventBroadcaster.toResponse(event));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sink.tryEmitComplete();
+    }
+}
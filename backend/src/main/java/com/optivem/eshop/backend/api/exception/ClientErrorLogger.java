@@ -0,0 +1,64 @@
+package com.optivem.eshop.backend.api.exception;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Sampled, rate-limited logging for malformed client requests, so a burst of bad traffic cannot flood the logs
+@Component
+public class ClientErrorLogger {
+
+    private static final Logger log = LoggerFactory.getLogger(ClientErrorLogger.class);
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final int maxPerSecond;
+    private final double sampleRate;
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicInteger loggedInWindow = new AtomicInteger();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    public ClientErrorLogger(@Value("${error.logging.client-errors-per-second:10}") int maxPerSecond,
+                             @Value("${error.logging.client-error-sample-rate:1.0}") double sampleRate) {
+        this.maxPerSecond = maxPerSecond;
+        this.sampleRate = sampleRate;
+    }
+
+    public void log(String description, Throwable ex) {
+        if (!log.isWarnEnabled()) {
+            return;
+        }
+
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            suppressed.incrementAndGet();
+            return;
+        }
+
+        var now = System.nanoTime();
+        var start = windowStart.get();
+        if (now - start >= WINDOW_NANOS && windowStart.compareAndSet(start, now)) {
+            loggedInWindow.set(0);
+            var dropped = suppressed.getAndSet(0);
+            if (dropped > 0) {
+                log.warn("Suppressed {} client error log entries", dropped);
+            }
+        }
+
+        if (loggedInWindow.incrementAndGet() > maxPerSecond) {
+            suppressed.incrementAndGet();
+            return;
+        }
+
+        // The message identifies a bad request; the stack trace is only useful when debugging the handler itself
+        if (log.isDebugEnabled()) {
+            log.debug("{}: {}", description, ex.getMessage(), ex);
+        } else {
+            log.warn("{}: {}", description, ex.getMessage());
+        }
+    }
+}
@@ -2,100 +2,39 @@ package com.optivem.eshop.backend.api.exception;
 
 import com.optivem.eshop.backend.core.exceptions.NotExistValidationException;
 import com.optivem.eshop.backend.core.exceptions.ValidationException;
-import com.optivem.eshop.backend.core.validation.TypeValidationMessageExtractor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpStatus;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
-import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
-import java.net.URI;
-import java.time.Instant;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 @RestControllerAdvice
+@Profile("!reactive")
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
     private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
-    private static final Pattern CLASS_NAME_PATTERN = Pattern.compile("(com\\.optivem\\.eshop\\.backend\\.core\\.dtos\\.[^\\[\\]\"\\s\\)]+)");
-
-    private static final String VALIDATION_DETAIL = "The request contains one or more validation errors";
-    private static final String VALIDATION_TITLE = "Validation Error";
-    private static final String PROP_TIMESTAMP = "timestamp";
-    private static final String PROP_ERRORS = "errors";
-    private static final String PROP_FIELD = "field";
-    private static final String PROP_MESSAGE = "message";
-
-    @Value("${error.types.validation-error}")
-    private String validationErrorTypeUri;
-
-    @Value("${error.types.resource-not-found}")
-    private String resourceNotFoundTypeUri;
 
-    @Value("${error.types.bad-request}")
-    private String badRequestTypeUri;
+    private final ProblemDetailFactory problemDetailFactory;
+    private final ClientErrorLogger clientErrorLogger;
 
-    @Value("${error.types.internal-server-error}")
-    private String internalServerErrorTypeUri;
+    public GlobalExceptionHandler(ProblemDetailFactory problemDetailFactory, ClientErrorLogger clientErrorLogger) {
+        this.problemDetailFactory = problemDetailFactory;
+        this.clientErrorLogger = clientErrorLogger;
+    }
 
         @ExceptionHandler(ValidationException.class)
     public ResponseEntity<ProblemDetail> handleValidationException(ValidationException ex) {
-        if (ex.getFieldName() != null) {
-            // Field-level validation error
-            ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
-                    HttpStatus.UNPROCESSABLE_ENTITY,
-                    VALIDATION_DETAIL
-            );
-            problemDetail.setType(URI.create(validationErrorTypeUri));
-            problemDetail.setTitle(VALIDATION_TITLE);
-            problemDetail.setProperty(PROP_TIMESTAMP, Instant.now());
-
-            // Add field-level error
-            List<Map<String, Object>> errors = new ArrayList<>();
-            Map<String, Object> errorDetail = new HashMap<>();
-            errorDetail.put(PROP_FIELD, ex.getFieldName());
-            errorDetail.put(PROP_MESSAGE, ex.getMessage());
-            errors.add(errorDetail);
-            problemDetail.setProperty(PROP_ERRORS, errors);
-
-            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(problemDetail);
-        } else {
-            // General validation error
-            ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
-                    HttpStatus.UNPROCESSABLE_ENTITY,
-                    ex.getMessage()
-            );
-            problemDetail.setType(URI.create(validationErrorTypeUri));
-            problemDetail.setTitle(VALIDATION_TITLE);
-            problemDetail.setProperty(PROP_TIMESTAMP, Instant.now());
-
-            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(problemDetail);
-        }
+        return toResponse(problemDetailFactory.validationError(ex));
     }
 
     @ExceptionHandler(NotExistValidationException.class)
     public ResponseEntity<ProblemDetail> handleNotExistValidationException(NotExistValidationException ex) {
-        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
-                HttpStatus.NOT_FOUND,
-                ex.getMessage()
-        );
-        problemDetail.setType(URI.create(resourceNotFoundTypeUri));
-        problemDetail.setTitle("Resource Not Found");
-        problemDetail.setProperty(PROP_TIMESTAMP, Instant.now());
-
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(problemDetail);
+        return toResponse(problemDetailFactory.notExist(ex));
     }
 
     @Override
@@ -103,27 +42,7 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
                                                                    org.springframework.http.HttpHeaders headers,
                                                                    org.springframework.http.HttpStatusCode status,
                                                                    org.springframework.web.context.request.WebRequest request) {
-        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
-                HttpStatus.UNPROCESSABLE_ENTITY,
-                VALIDATION_DETAIL
-        );
-        problemDetail.setType(URI.create(validationErrorTypeUri));
-        problemDetail.setTitle(VALIDATION_TITLE);
-        problemDetail.setProperty(PROP_TIMESTAMP, Instant.now());
-
-        // Add field-level errors
-        List<Map<String, Object>> errors = new ArrayList<>();
-        ex.getBindingResult().getAllErrors().forEach((error) -> {
-            Map<String, Object> errorDetail = new HashMap<>();
-            errorDetail.put(PROP_FIELD, ((FieldError) error).getField());
-            errorDetail.put(PROP_MESSAGE, error.getDefaultMessage());
-            errorDetail.put("code", error.getCode());
-            errorDetail.put("rejectedValue", ((FieldError) error).getRejectedValue());
-            errors.add(errorDetail);
-        });
-        problemDetail.setProperty(PROP_ERRORS, errors);
-
-        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body((Object) problemDetail);
+        return toObjectResponse(problemDetailFactory.fieldErrors(ex.getBindingResult()));
     }
 
     @Override
@@ -131,91 +50,14 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
                                                                    org.springframework.http.HttpHeaders headers,
                                                                    org.springframework.http.HttpStatusCode status,
                                                                    org.springframework.web.context.request.WebRequest request) {
-        log.error("HttpMessageNotReadableException: {}", ex.getMessage(), ex);
+        clientErrorLogger.log("HttpMessageNotReadableException", ex);
 
-        if (ex.getCause() != null) {
-            log.error("Root cause: {}", ex.getCause().getMessage(), ex.getCause());
-        }
-
-        ProblemDetail problemDetail = tryParseFieldError(ex.getMessage());
+        ProblemDetail problemDetail = problemDetailFactory.tryParseFieldError(ex);
         if (problemDetail != null) {
-            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body((Object) problemDetail);
-        }
-
-        if (ex.getCause() != null) {
-            problemDetail = tryParseFieldError(ex.getCause().getMessage());
-            if (problemDetail != null) {
-                return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body((Object) problemDetail);
-            }
+            return toObjectResponse(problemDetail);
         }
 
-        problemDetail = ProblemDetail.forStatusAndDetail(
-                HttpStatus.BAD_REQUEST,
-                "Invalid request format"
-        );
-        problemDetail.setType(URI.create(badRequestTypeUri));
-        problemDetail.setTitle("Bad Request");
-        problemDetail.setProperty(PROP_TIMESTAMP, Instant.now());
-
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body((Object) problemDetail);
-    }
-
-    private ProblemDetail tryParseFieldError(String message) {
-        if (message == null) {
-            return null;
-        }
-
-        // Try to extract the DTO class name from the exception message
-        Class<?> dtoClass = extractDtoClass(message);
-        if (dtoClass == null) {
-            return null;
-        }
-
-        // Extract field validation messages from the DTO class annotations
-        Map<String, String> fieldErrorPatterns = TypeValidationMessageExtractor.extractFieldMessages(dtoClass);
-        String lowerMessage = message.toLowerCase();
-
-        return fieldErrorPatterns.entrySet().stream()
-                .filter(entry -> lowerMessage.contains(entry.getKey()))
-                .findFirst()
-                .map(entry -> {
-                    String fieldName = entry.getKey();
-                    String fieldMessage = entry.getValue();
-                    
-                    ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
-                            HttpStatus.UNPROCESSABLE_ENTITY,
-                            VALIDATION_DETAIL
-                    );
-                    problemDetail.setType(URI.create(validationErrorTypeUri));
-                    problemDetail.setTitle(VALIDATION_TITLE);
-                    problemDetail.setProperty(PROP_TIMESTAMP, Instant.now());
-                    
-                    // Add field-level error
-                    List<Map<String, Object>> errors = new ArrayList<>();
-                    Map<String, Object> errorDetail = new HashMap<>();
-                    errorDetail.put(PROP_FIELD, fieldName);
-                    errorDetail.put(PROP_MESSAGE, fieldMessage);
-                    errorDetail.put("code", "TYPE_MISMATCH");
-                    errors.add(errorDetail);
-                    problemDetail.setProperty(PROP_ERRORS, errors);
-                    
-                    return problemDetail;
-                })
-                .orElse(null);
-    }
-
-    private Class<?> extractDtoClass(String message) {
-        // Try to find the DTO class name in the exception message
-        Matcher matcher = CLASS_NAME_PATTERN.matcher(message);
-        if (matcher.find()) {
-            String className = matcher.group(1);
-            try {
-                return Class.forName(className);
-            } catch (ClassNotFoundException e) {
-                log.debug("Could not load class: {}", className);
-            }
-        }
-        return null;
+        return toObjectResponse(problemDetailFactory.badRequest());
     }
 
     @ExceptionHandler(Exception.class)
@@ -231,29 +73,14 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
             depth++;
         }
 
-        // Build detailed error message with root cause
-        String rootCauseMessage = getRootCauseMessage(ex);
-        String fullMessage = "Internal server error: " + ex.getMessage();
-        if (rootCauseMessage != null && !rootCauseMessage.equals(ex.getMessage())) {
-            fullMessage += " | Root cause: " + rootCauseMessage;
-        }
-
-        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
-                HttpStatus.INTERNAL_SERVER_ERROR,
-                fullMessage
-        );
-        problemDetail.setType(URI.create(internalServerErrorTypeUri));
-        problemDetail.setTitle("Internal Server Error");
-        problemDetail.setProperty(PROP_TIMESTAMP, Instant.now());
+        return toResponse(problemDetailFactory.internalServerError(ex));
+    }
 
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(problemDetail);
+    private static ResponseEntity<ProblemDetail> toResponse(ProblemDetail problemDetail) {
+        return ResponseEntity.status(problemDetail.getStatus()).body(problemDetail);
     }
 
-    private String getRootCauseMessage(Throwable ex) {
-        Throwable cause = ex;
-        while (cause.getCause() != null) {
-            cause = cause.getCause();
-        }
-        return cause.getMessage();
+    private static ResponseEntity<Object> toObjectResponse(ProblemDetail problemDetail) {
+        return ResponseEntity.status(problemDetail.getStatus()).body((Object) problemDetail);
     }
-}
\ No newline at end of file
+}
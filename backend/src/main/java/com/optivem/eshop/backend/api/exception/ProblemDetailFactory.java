@@ -0,0 +1,234 @@
+package com.optivem.eshop.backend.api.exception;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.optivem.eshop.backend.core.exceptions.NotExistValidationException;
+import com.optivem.eshop.backend.core.exceptions.ValidationException;
+import com.optivem.eshop.backend.core.validation.TypeValidationMessageExtractor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Builds the ProblemDetail bodies shared by the MVC and reactive exception handlers
+@Component
+public class ProblemDetailFactory {
+
+    private static final String VALIDATION_DETAIL = "The request contains one or more validation errors";
+    private static final String VALIDATION_TITLE = "Validation Error";
+    private static final String PROP_TIMESTAMP = "timestamp";
+    private static final String PROP_ERRORS = "errors";
+    private static final String PROP_FIELD = "field";
+    private static final String PROP_MESSAGE = "message";
+
+    @Value("${error.types.validation-error}")
+    private String validationErrorTypeUri;
+
+    @Value("${error.types.resource-not-found}")
+    private String resourceNotFoundTypeUri;
+
+    @Value("${error.types.bad-request}")
+    private String badRequestTypeUri;
+
+    @Value("${error.types.internal-server-error}")
+    private String internalServerErrorTypeUri;
+
+    @Value("${error.types.too-many-requests}")
+    private String tooManyRequestsTypeUri;
+
+    @Value("${error.types.service-unavailable}")
+    private String serviceUnavailableTypeUri;
+
+    public ProblemDetail validationError(ValidationException ex) {
+        if (ex.getFieldName() != null) {
+            // Field-level validation error
+            ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                    HttpStatus.UNPROCESSABLE_ENTITY,
+                    VALIDATION_DETAIL
+            );
+            problemDetail.setType(URI.create(validationErrorTypeUri));
+            problemDetail.setTitle(VALIDATION_TITLE);
+            problemDetail.setProperty(PROP_TIMESTAMP, Instant.now());
+
+            // Add field-level error
+            List<Map<String, Object>> errors = new ArrayList<>();
+            Map<String, Object> errorDetail = new HashMap<>();
+            errorDetail.put(PROP_FIELD, ex.getFieldName());
+            errorDetail.put(PROP_MESSAGE, ex.getMessage());
+            errors.add(errorDetail);
+            problemDetail.setProperty(PROP_ERRORS, errors);
+
+            return problemDetail;
+        } else {
+            // General validation error
+            ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                    HttpStatus.UNPROCESSABLE_ENTITY,
+                    ex.getMessage()
+            );
+            problemDetail.setType(URI.create(validationErrorTypeUri));
+            problemDetail.setTitle(VALIDATION_TITLE);
+            problemDetail.setProperty(PROP_TIMESTAMP, Instant.now());
+
+            return problemDetail;
+        }
+    }
+
+    public ProblemDetail notExist(NotExistValidationException ex) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.NOT_FOUND,
+                ex.getMessage()
+        );
+        problemDetail.setType(URI.create(resourceNotFoundTypeUri));
+        problemDetail.setTitle("Resource Not Found");
+        problemDetail.setProperty(PROP_TIMESTAMP, Instant.now());
+
+        return problemDetail;
+    }
+
+    public ProblemDetail fieldErrors(BindingResult bindingResult) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.UNPROCESSABLE_ENTITY,
+                VALIDATION_DETAIL
+        );
+        problemDetail.setType(URI.create(validationErrorTypeUri));
+        problemDetail.setTitle(VALIDATION_TITLE);
+        problemDetail.setProperty(PROP_TIMESTAMP, Instant.now());
+
+        // Add field-level errors
+        List<Map<String, Object>> errors = new ArrayList<>();
+        bindingResult.getAllErrors().forEach((error) -> {
+            Map<String, Object> errorDetail = new HashMap<>();
+            errorDetail.put(PROP_FIELD, ((FieldError) error).getField());
+            errorDetail.put(PROP_MESSAGE, error.getDefaultMessage());
+            errorDetail.put("code", error.getCode());
+            errorDetail.put("rejectedValue", ((FieldError) error).getRejectedValue());
+            errors.add(errorDetail);
+        });
+        problemDetail.setProperty(PROP_ERRORS, errors);
+
+        return problemDetail;
+    }
+
+    public ProblemDetail badRequest() {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.BAD_REQUEST,
+                "Invalid request format"
+        );
+        problemDetail.setType(URI.create(badRequestTypeUri));
+        problemDetail.setTitle("Bad Request");
+        problemDetail.setProperty(PROP_TIMESTAMP, Instant.now());
+
+        return problemDetail;
+    }
+
+    public ProblemDetail tooManyRequests() {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.TOO_MANY_REQUESTS,
+                "Request rate limit exceeded, retry later"
+        );
+        problemDetail.setType(URI.create(tooManyRequestsTypeUri));
+        problemDetail.setTitle("Too Many Requests");
+        problemDetail.setProperty(PROP_TIMESTAMP, Instant.now());
+
+        return problemDetail;
+    }
+
+    public ProblemDetail serviceUnavailable() {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "The service is at capacity, retry later"
+        );
+        problemDetail.setType(URI.create(serviceUnavailableTypeUri));
+        problemDetail.setTitle("Service Unavailable");
+        problemDetail.setProperty(PROP_TIMESTAMP, Instant.now());
+
+        return problemDetail;
+    }
+
+    public ProblemDetail internalServerError(Exception ex) {
+        // Build detailed error message with root cause
+        String rootCauseMessage = getRootCauseMessage(ex);
+        String fullMessage = "Internal server error: " + ex.getMessage();
+        if (rootCauseMessage != null && !rootCauseMessage.equals(ex.getMessage())) {
+            fullMessage += " | Root cause: " + rootCauseMessage;
+        }
+
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.INTERNAL_SERVER_ERROR,
+                fullMessage
+        );
+        problemDetail.setType(URI.create(internalServerErrorTypeUri));
+        problemDetail.setTitle("Internal Server Error");
+        problemDetail.setProperty(PROP_TIMESTAMP, Instant.now());
+
+        return problemDetail;
+    }
+
+    // Returns null when no Jackson binding error on an annotated DTO field is found in the cause chain
+    public ProblemDetail tryParseFieldError(Throwable ex) {
+        // The failing DTO and field come straight from Jackson's reference path instead of parsing the message
+        var mappingException = findMappingException(ex);
+        if (mappingException == null || mappingException.getPath().isEmpty()) {
+            return null;
+        }
+
+        var path = mappingException.getPath();
+        var reference = path.get(path.size() - 1);
+        if (reference.getFrom() == null || reference.getFieldName() == null) {
+            return null;
+        }
+
+        Class<?> dtoClass = reference.getFrom() instanceof Class<?> fromClass ? fromClass : reference.getFrom().getClass();
+        String fieldName = reference.getFieldName().toLowerCase();
+
+        // Field validation messages are read from the DTO class annotations once and cached
+        String fieldMessage = TypeValidationMessageExtractor.extractFieldMessages(dtoClass).get(fieldName);
+        if (fieldMessage == null) {
+            return null;
+        }
+
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(
+                HttpStatus.UNPROCESSABLE_ENTITY,
+                VALIDATION_DETAIL
+        );
+        problemDetail.setType(URI.create(validationErrorTypeUri));
+        problemDetail.setTitle(VALIDATION_TITLE);
+        problemDetail.setProperty(PROP_TIMESTAMP, Instant.now());
+
+        // Add field-level error
+        List<Map<String, Object>> errors = new ArrayList<>();
+        Map<String, Object> errorDetail = new HashMap<>();
+        errorDetail.put(PROP_FIELD, fieldName);
+        errorDetail.put(PROP_MESSAGE, fieldMessage);
+        errorDetail.put("code", "TYPE_MISMATCH");
+        errors.add(errorDetail);
+        problemDetail.setProperty(PROP_ERRORS, errors);
+
+        return problemDetail;
+    }
+
+    private static JsonMappingException findMappingException(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof JsonMappingException mappingException) {
+                return mappingException;
+            }
+        }
+        return null;
+    }
+
+    private String getRootCauseMessage(Throwable ex) {
+        Throwable cause = ex;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage();
+    }
+}
@@ -0,0 +1,81 @@
+package com.optivem.eshop.backend.api.exception;
+
+import com.optivem.eshop.backend.core.exceptions.NotExistValidationException;
+import com.optivem.eshop.backend.core.exceptions.ValidationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.reactive.result.method.annotation.ResponseEntityExceptionHandler;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+// WebFlux counterpart of GlobalExceptionHandler; both render their bodies through ProblemDetailFactory
+@RestControllerAdvice
+@Profile("reactive")
+public class ReactiveExceptionHandler extends ResponseEntityExceptionHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveExceptionHandler.class);
+
+    private final ProblemDetailFactory problemDetailFactory;
+    private final ClientErrorLogger clientErrorLogger;
+
+    public ReactiveExceptionHandler(ProblemDetailFactory problemDetailFactory, ClientErrorLogger clientErrorLogger) {
+        this.problemDetailFactory = problemDetailFactory;
+        this.clientErrorLogger = clientErrorLogger;
+    }
+
+    @ExceptionHandler(ValidationException.class)
+    public ResponseEntity<ProblemDetail> handleValidationException(ValidationException ex) {
+        return toResponse(problemDetailFactory.validationError(ex));
+    }
+
+    @ExceptionHandler(NotExistValidationException.class)
+    public ResponseEntity<ProblemDetail> handleNotExistValidationException(NotExistValidationException ex) {
+        return toResponse(problemDetailFactory.notExist(ex));
+    }
+
+    @Override
+    protected Mono<ResponseEntity<Object>> handleWebExchangeBindException(WebExchangeBindException ex,
+                                                                          HttpHeaders headers,
+                                                                          HttpStatusCode status,
+                                                                          ServerWebExchange exchange) {
+        return Mono.just(toObjectResponse(problemDetailFactory.fieldErrors(ex.getBindingResult())));
+    }
+
+    @Override
+    protected Mono<ResponseEntity<Object>> handleServerWebInputException(ServerWebInputException ex,
+                                                                         HttpHeaders headers,
+                                                                         HttpStatusCode status,
+                                                                         ServerWebExchange exchange) {
+        clientErrorLogger.log("ServerWebInputException", ex);
+
+        ProblemDetail problemDetail = problemDetailFactory.tryParseFieldError(ex);
+        if (problemDetail != null) {
+            return Mono.just(toObjectResponse(problemDetail));
+        }
+
+        return Mono.just(toObjectResponse(problemDetailFactory.badRequest()));
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ProblemDetail> handleGeneralException(Exception ex) {
+        log.error("Unexpected error occurred", ex);
+        return toResponse(problemDetailFactory.internalServerError(ex));
+    }
+
+    private static ResponseEntity<ProblemDetail> toResponse(ProblemDetail problemDetail) {
+        return ResponseEntity.status(problemDetail.getStatus()).body(problemDetail);
+    }
+
+    private static ResponseEntity<Object> toObjectResponse(ProblemDetail problemDetail) {
+        return ResponseEntity.status(problemDetail.getStatus()).body((Object) problemDetail);
+    }
+}
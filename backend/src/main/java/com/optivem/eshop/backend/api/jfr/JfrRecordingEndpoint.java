@@ -0,0 +1,147 @@
+package com.optivem.eshop.backend.api.jfr;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+// On-demand JFR recording of this node, so hot paths can be profiled without attaching an agent or restarting.
+// POST /actuator/jfr starts a recording that stops by itself after a bounded duration, DELETE stops it early,
+// GET /actuator/jfr/{id} downloads the finished file. One recording at a time; starting another discards the last
+@Component
+@WebEndpoint(id = "jfr", enableByDefault = false)
+public class JfrRecordingEndpoint {
+
+    private static final String RECORDING_NAME = "eshop-on-demand";
+    private static final Set<String> SETTINGS = Set.of("default", "profile");
+    private static final int STATUS_CONFLICT = 409;
+
+    private final Duration defaultDuration;
+    private final Duration maxDuration;
+
+    private Recording recording;
+    private Path file;
+
+    public JfrRecordingEndpoint(@Value("${jfr.recording.default-duration-seconds:60}") long defaultDurationSeconds,
+                                @Value("${jfr.recording.max-duration-seconds:300}") long maxDurationSeconds) {
+        this.maxDuration = Duration.ofSeconds(maxDurationSeconds);
+        this.defaultDuration = Duration.ofSeconds(Math.min(defaultDurationSeconds, maxDurationSeconds));
+    }
+
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        return describe();
+    }
+
+    // "default" settings cost about 1% CPU; "profile" samples more often and adds allocation profiling
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> start(@Nullable Integer durationSeconds,
+                                                                       @Nullable String settings) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(describe(), STATUS_CONFLICT);
+        }
+
+        var settingsName = settings != null ? settings : "default";
+        if (!SETTINGS.contains(settingsName) || (durationSeconds != null && durationSeconds <= 0)) {
+            return new WebEndpointResponse<>(Map.of("error",
+                    "settings must be one of " + SETTINGS + " and durationSeconds must be positive"),
+                    WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+
+        var requested = durationSeconds != null ? Duration.ofSeconds(durationSeconds) : defaultDuration;
+        var duration = requested.compareTo(maxDuration) > 0 ? maxDuration : requested;
+
+        discard();
+        try {
+            file = Files.createTempFile(RECORDING_NAME + "-", ".jfr");
+            recording = new Recording(Configuration.getConfiguration(settingsName));
+            recording.setName(RECORDING_NAME);
+            recording.setToDisk(true);
+            recording.setDestination(file);
+            recording.setDuration(duration);
+            recording.start();
+        } catch (IOException | ParseException e) {
+            discard();
+            throw new IllegalStateException("Could not start JFR recording: " + e.getMessage(), e);
+        }
+
+        return new WebEndpointResponse<>(describe(), WebEndpointResponse.STATUS_OK);
+    }
+
+    // Stopping writes the recording to its file
+    @DeleteOperation
+    public synchronized Map<String, Object> stop() {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        return describe();
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> download(@Selector long id) {
+        if (recording == null || recording.getId() != id) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (recording.getState() != RecordingState.STOPPED) {
+            return new WebEndpointResponse<>(STATUS_CONFLICT);
+        }
+        return new WebEndpointResponse<>(new FileSystemResource(file), WebEndpointResponse.STATUS_OK);
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        discard();
+    }
+
+    private Map<String, Object> describe() {
+        var status = new LinkedHashMap<String, Object>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            status.put("maxDurationSeconds", maxDuration.toSeconds());
+            return status;
+        }
+        status.put("id", recording.getId());
+        status.put("state", recording.getState().name());
+        status.put("startTime", String.valueOf(recording.getStartTime()));
+        status.put("durationSeconds", recording.getDuration().toSeconds());
+        if (recording.getState() == RecordingState.STOPPED) {
+            status.put("sizeBytes", file.toFile().length());
+        }
+        return status;
+    }
+
+    private void discard() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                file.toFile().deleteOnExit();
+            }
+            file = null;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.optivem.eshop.backend.api.replica;
+
+import com.optivem.eshop.backend.core.replica.ConditionalOnReadReplicas;
+import com.optivem.eshop.backend.core.replica.ReadYourWritesContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// A client that just wrote reads from the primary for a short window, so it never sees its order missing on a lagging replica
+@Component
+@Profile("!reactive")
+@ConditionalOnReadReplicas
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE_NAME = "eshop-read-primary-until";
+
+    @Value("${datasource.replica.read-your-writes-window-ms:5000}")
+    private long windowMillis;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var now = System.currentTimeMillis();
+        if (isWrite(request.getMethod())) {
+            // Set before the chain runs, since the response is committed by the time it returns
+            var cookie = new Cookie(COOKIE_NAME, Long.toString(now + windowMillis));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, (windowMillis + 999) / 1000));
+            response.addCookie(cookie);
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!wroteRecently(request, now)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ReadYourWritesContext.requirePrimary();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadYourWritesContext.clear();
+        }
+    }
+
+    private static boolean isWrite(String method) {
+        return !method.equals("GET") && !method.equals("HEAD") && !method.equals("OPTIONS");
+    }
+
+    private static boolean wroteRecently(HttpServletRequest request, long now) {
+        var cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (var cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return now < Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,35 @@
+package com.optivem.eshop.backend.api.reports;
+
+import com.optivem.eshop.backend.core.exceptions.ValidationException;
+import com.optivem.eshop.backend.core.services.SalesReportService;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// Rebuilds the sales rollups from the order tables, after a bulk import or a rollup bug. POST /actuator/salesrollups
+// locks the rollups table until it is done, so order changes wait for the rebuild instead of being lost to it
+@Component
+@WebEndpoint(id = "salesrollups", enableByDefault = false)
+public class SalesRollupsEndpoint {
+
+    private static final int STATUS_CONFLICT = 409;
+
+    private final SalesReportService salesReportService;
+
+    public SalesRollupsEndpoint(SalesReportService salesReportService) {
+        this.salesReportService = salesReportService;
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Map<String, Object>> rebuild() {
+        try {
+            salesReportService.rebuildRollups();
+        } catch (ValidationException e) {
+            return new WebEndpointResponse<>(Map.of("error", e.getMessage()), STATUS_CONFLICT);
+        }
+        return new WebEndpointResponse<>(Map.of("rebuilt", true), WebEndpointResponse.STATUS_OK);
+    }
+}
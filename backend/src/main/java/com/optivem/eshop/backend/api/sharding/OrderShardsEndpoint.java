@@ -0,0 +1,72 @@
+package com.optivem.eshop.backend.api.sharding;
+
+import com.optivem.eshop.backend.core.sharding.ConditionalOnOrderShards;
+import com.optivem.eshop.backend.core.sharding.OrderResharder;
+import com.optivem.eshop.backend.core.sharding.ShardedOrderRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.context.annotation.Profile;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Order shard status and the resharding tool. GET /actuator/shards counts the orders on each shard, and in the main
+// database while resharding; with datasource.shards.resharding=true on every node, repeat POST /actuator/shards until
+// sweepComplete is true, then turn resharding off again
+@Component
+@ConditionalOnOrderShards
+@Profile("!reactive")
+@WebEndpoint(id = "shards", enableByDefault = false)
+public class OrderShardsEndpoint {
+
+    private static final int STATUS_CONFLICT = 409;
+
+    private final ShardedOrderRepository shardedOrderRepository;
+    private final OrderResharder orderResharder;
+    private final int defaultBatchSize;
+    private final int maxBatchSize;
+
+    public OrderShardsEndpoint(ShardedOrderRepository shardedOrderRepository, OrderResharder orderResharder,
+                               @Value("${datasource.shards.migration.batch-size:1000}") int defaultBatchSize,
+                               @Value("${datasource.shards.migration.max-batch-size:10000}") int maxBatchSize) {
+        this.shardedOrderRepository = shardedOrderRepository;
+        this.orderResharder = orderResharder;
+        this.defaultBatchSize = defaultBatchSize;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        var status = new LinkedHashMap<String, Object>();
+        status.put("resharding", shardedOrderRepository.isResharding());
+        status.put("orders", orderResharder.countOrders());
+        return status;
+    }
+
+    // Moves the misplaced orders among the next batchSize rows of each order table
+    @WriteOperation
+    public WebEndpointResponse<Map<String, Object>> moveBatch(@Nullable Integer batchSize) {
+        if (!shardedOrderRepository.isResharding()) {
+            return new WebEndpointResponse<>(Map.of("error",
+                    "Set datasource.shards.resharding=true on every node before moving orders"), STATUS_CONFLICT);
+        }
+        if (batchSize != null && (batchSize <= 0 || batchSize > maxBatchSize)) {
+            return new WebEndpointResponse<>(Map.of("error", "batchSize must be between 1 and " + maxBatchSize),
+                    WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+
+        var result = orderResharder.moveBatch(batchSize != null ? batchSize : defaultBatchSize);
+        var response = new LinkedHashMap<String, Object>();
+        response.put("scanned", result.scanned());
+        response.put("moved", result.moved());
+        response.put("sweepScanned", result.sweepScanned());
+        response.put("sweepMoved", result.sweepMoved());
+        response.put("sweepComplete", result.sweepComplete());
+        return new WebEndpointResponse<>(response, WebEndpointResponse.STATUS_OK);
+    }
+}
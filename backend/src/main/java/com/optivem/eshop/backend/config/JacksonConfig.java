@@ -0,0 +1,36 @@
+package com.optivem.eshop.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.NativeDetector;
+
+@Configuration
+public class JacksonConfig {
+
+    // Blackbird replaces reflective accessor calls with generated lambdas; a native image cannot generate them
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer blackbirdCustomizer() {
+        return builder -> {
+            if (!NativeDetector.inNativeImage()) {
+                builder.postConfigurer(objectMapper -> objectMapper.registerModule(new BlackbirdModule()));
+            }
+        };
+    }
+
+    // Resolves the (de)serializers for our DTOs at startup, so the first requests do not pay for introspection
+    @Bean
+    @Lazy(false)
+    public SmartInitializingSingleton jacksonPrefetch(ObjectMapper objectMapper) {
+        return () -> {
+            for (var type : NativeHintsConfig.JSON_DTOS) {
+                objectMapper.writerFor(type);
+                objectMapper.readerFor(type);
+            }
+        };
+    }
+}
@@ -0,0 +1,108 @@
+package com.optivem.eshop.backend.config;
+
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.optivem.eshop.backend.core.dtos.BrowseCouponImportsResponse;
+import com.optivem.eshop.backend.core.dtos.BrowseCouponsResponse;
+import com.optivem.eshop.backend.core.dtos.BrowseOrderHistoryResponse;
+import com.optivem.eshop.backend.core.dtos.CouponImportResponse;
+import com.optivem.eshop.backend.core.dtos.GenerateCouponsRequest;
+import com.optivem.eshop.backend.core.dtos.OrderEventResponse;
+import com.optivem.eshop.backend.core.dtos.PlaceOrderRequest;
+import com.optivem.eshop.backend.core.dtos.PlaceOrderResponse;
+import com.optivem.eshop.backend.core.dtos.PublishCouponRequest;
+import com.optivem.eshop.backend.core.dtos.QuoteOrderRequest;
+import com.optivem.eshop.backend.core.dtos.QuoteOrderResponse;
+import com.optivem.eshop.backend.core.dtos.SalesReportResponse;
+import com.optivem.eshop.backend.core.dtos.ViewOrderDetailsResponse;
+import com.optivem.eshop.backend.core.dtos.external.GetTimeResponse;
+import com.optivem.eshop.backend.core.dtos.external.ProductDetailsResponse;
+import com.optivem.eshop.backend.core.dtos.external.TaxDetailsResponse;
+import com.optivem.eshop.backend.core.entities.ArchivedOrder;
+import com.optivem.eshop.backend.core.entities.Coupon;
+import com.optivem.eshop.backend.core.entities.Order;
+import com.optivem.eshop.backend.core.entities.RateLimitBucket;
+import com.optivem.eshop.backend.core.entities.SalesRollup;
+import com.optivem.eshop.backend.core.validation.TypeValidationMessage;
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+// Reachability metadata for the GraalVM native image; ignored when running on the JVM
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.EshopRuntimeHints.class)
+public class NativeHintsConfig {
+
+    // Request DTOs are scanned for @TypeValidationMessage by TypeValidationMessageExtractor
+    private static final Class<?>[] VALIDATED_DTOS = {
+            PlaceOrderRequest.class,
+            QuoteOrderRequest.class,
+            PublishCouponRequest.class,
+            GenerateCouponsRequest.class
+    };
+
+    // Bound by Jackson, including the gateways' own ObjectMappers that Spring AOT cannot see
+    static final Class<?>[] JSON_DTOS = {
+            BrowseCouponsResponse.class,
+            BrowseCouponImportsResponse.class,
+            BrowseOrderHistoryResponse.class,
+            CouponImportResponse.class,
+            GenerateCouponsRequest.class,
+            OrderEventResponse.class,
+            PlaceOrderRequest.class,
+            PlaceOrderResponse.class,
+            PublishCouponRequest.class,
+            QuoteOrderRequest.class,
+            QuoteOrderResponse.class,
+            SalesReportResponse.class,
+            ViewOrderDetailsResponse.class,
+            GetTimeResponse.class,
+            ProductDetailsResponse.class,
+            TaxDetailsResponse.class
+    };
+
+    private static final Class<?>[] ENTITIES = {
+            Order.class,
+            ArchivedOrder.class,
+            Coupon.class,
+            SalesRollup.class,
+            RateLimitBucket.class
+    };
+
+    static class EshopRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            var reflection = hints.reflection();
+
+            new BindingReflectionHintsRegistrar().registerReflectionHints(reflection, JSON_DTOS);
+
+            for (var dto : VALIDATED_DTOS) {
+                reflection.registerType(dto, MemberCategory.DECLARED_FIELDS);
+            }
+            reflection.registerType(TypeValidationMessage.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+            for (var entity : ENTITIES) {
+                reflection.registerType(entity,
+                        MemberCategory.DECLARED_FIELDS,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+
+            reflection.registerType(JavaTimeModule.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+            // SlowQueryLogger wraps JDBC objects in JDK proxies
+            for (var jdbcType : new Class<?>[] {Connection.class, Statement.class, PreparedStatement.class, CallableStatement.class}) {
+                hints.proxies().registerJdkProxy(ProxyJdbcObject.class, jdbcType);
+            }
+        }
+    }
+}
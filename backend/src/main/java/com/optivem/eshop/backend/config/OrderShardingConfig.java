@@ -0,0 +1,65 @@
+package com.optivem.eshop.backend.config;
+
+import com.optivem.eshop.backend.core.sharding.ConditionalOnOrderShards;
+import com.optivem.eshop.backend.core.sharding.OrderResharder;
+import com.optivem.eshop.backend.core.sharding.OrderShard;
+import com.optivem.eshop.backend.core.sharding.ShardedOrderRepository;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// Moves the orders table to the databases in datasource.shards.urls; coupons, rollups and archived orders stay in
+// spring.datasource. Orders already in spring.datasource are moved by OrderResharder, with resharding on until then.
+// The reactive profile keeps its orders in spring.datasource and ignores the shards
+@Configuration
+@ConditionalOnOrderShards
+@Profile("!reactive")
+public class OrderShardingConfig {
+
+    // Takes precedence over OrderRepository wherever an OrderStore is injected
+    @Bean(destroyMethod = "close")
+    @Primary
+    public ShardedOrderRepository shardedOrderRepository(
+            @Value("${datasource.shards.urls}") List<String> urls,
+            @Value("${datasource.shards.username:${spring.datasource.username}}") String username,
+            @Value("${datasource.shards.password:${spring.datasource.password}}") String password,
+            @Value("${datasource.shards.max-pool-size:10}") int maxPoolSize,
+            @Value("${datasource.shards.resharding:false}") boolean resharding,
+            DataSource dataSource,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        List<OrderShard> shards = new ArrayList<>();
+        for (var url : urls) {
+            // Named by position, so the order of the URLs must not change
+            var name = "order-shard-" + (shards.size() + 1);
+            var config = new HikariConfig();
+            config.setPoolName(name);
+            config.setJdbcUrl(url.trim());
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setMaximumPoolSize(maxPoolSize);
+            // These pools are not beans, so Boot's pool metrics do not see them
+            meterRegistry.ifAvailable(config::setMetricRegistry);
+            shards.add(new OrderShard(name, new HikariDataSource(config)));
+        }
+
+        var unsharded = new OrderShard("main", dataSource);
+        var repository = new ShardedOrderRepository(shards, unsharded, resharding, maxPoolSize);
+        repository.createSchema();
+        return repository;
+    }
+
+    @Bean
+    public OrderResharder orderResharder(ShardedOrderRepository shardedOrderRepository) {
+        return new OrderResharder(shardedOrderRepository);
+    }
+}
@@ -0,0 +1,78 @@
+package com.optivem.eshop.backend.config;
+
+import com.optivem.eshop.backend.core.replica.ConditionalOnReadReplicas;
+import com.optivem.eshop.backend.core.replica.ReplicaLagMonitor;
+import com.optivem.eshop.backend.core.replica.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// Replaces the auto-configured DataSource when datasource.replica.urls is set
+@Configuration
+@ConditionalOnReadReplicas
+public class ReadReplicaConfig {
+
+    private static final long REPLICA_CONNECTION_TIMEOUT_MS = 2000;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            @Value("${datasource.replica.urls}") List<String> urls,
+            @Value("${datasource.replica.username:${spring.datasource.username}}") String username,
+            @Value("${datasource.replica.password:${spring.datasource.password}}") String password,
+            @Value("${datasource.replica.max-pool-size:10}") int maxPoolSize,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+        for (var url : urls) {
+            var name = "replica-" + (replicas.size() + 1);
+            var config = new HikariConfig();
+            config.setPoolName(name);
+            config.setJdbcUrl(url.trim());
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setMaximumPoolSize(maxPoolSize);
+            config.setReadOnly(true);
+            // A replica that is down must not block startup or hold a request for long; the primary takes over
+            config.setInitializationFailTimeout(-1);
+            config.setConnectionTimeout(REPLICA_CONNECTION_TIMEOUT_MS);
+            // These pools are not beans, so Boot's pool metrics do not see them
+            meterRegistry.ifAvailable(config::setMetricRegistry);
+            replicas.add(new ReplicaRoutingDataSource.Replica(name, new HikariDataSource(config)));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas);
+    }
+
+    // Defers borrowing a connection until the first statement, when the transaction's read-only flag is known
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    // Scheduled methods are only registered on initialized beans, so opt out of lazy initialization
+    @Bean
+    @Lazy(false)
+    public ReplicaLagMonitor replicaLagMonitor(ReplicaRoutingDataSource replicaRoutingDataSource,
+                                               @Value("${datasource.replica.max-lag-ms:1000}") long maxLagMillis) {
+        return new ReplicaLagMonitor(replicaRoutingDataSource, maxLagMillis);
+    }
+}
@@ -0,0 +1,73 @@
+package com.optivem.eshop.backend.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Logs statements slower than the threshold, sampled and rate-limited; replaces logging every statement via show-sql
+public class SlowQueryLogger implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLogger.class);
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final long thresholdMillis;
+    private final double sampleRate;
+    private final int maxPerSecond;
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicInteger loggedInWindow = new AtomicInteger();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    public SlowQueryLogger(long thresholdMillis, double sampleRate, int maxPerSecond) {
+        this.thresholdMillis = thresholdMillis;
+        this.sampleRate = sampleRate;
+        this.maxPerSecond = maxPerSecond;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.getElapsedTime() < thresholdMillis || !log.isWarnEnabled()) {
+            return;
+        }
+
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            suppressed.incrementAndGet();
+            return;
+        }
+
+        var now = System.nanoTime();
+        var start = windowStart.get();
+        if (now - start >= WINDOW_NANOS && windowStart.compareAndSet(start, now)) {
+            loggedInWindow.set(0);
+            var dropped = suppressed.getAndSet(0);
+            if (dropped > 0) {
+                log.warn("Suppressed {} slow query log entries", dropped);
+            }
+        }
+
+        if (loggedInWindow.incrementAndGet() > maxPerSecond) {
+            suppressed.incrementAndGet();
+            return;
+        }
+
+        // Parameter values are left out, they may carry customer data
+        var sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+        if (execInfo.isBatch()) {
+            log.warn("Slow batch of {} took {} ms (success={}): {}", execInfo.getBatchSize(), execInfo.getElapsedTime(),
+                    execInfo.isSuccess(), sql);
+        } else {
+            log.warn("Slow query took {} ms (success={}): {}", execInfo.getElapsedTime(), execInfo.isSuccess(), sql);
+        }
+    }
+}
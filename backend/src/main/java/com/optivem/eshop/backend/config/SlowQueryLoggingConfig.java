@@ -0,0 +1,41 @@
+package com.optivem.eshop.backend.config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(name = "datasource.slow-query.enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryLoggingConfig {
+
+    // The application-facing DataSource is named dataSource both when auto-configured and in ReadReplicaConfig;
+    // wrapping only that one times each statement once, wherever it is routed
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    // Static so the post-processor is registered before the DataSource is created
+    @Bean
+    public static BeanPostProcessor slowQueryDataSourcePostProcessor(Environment environment) {
+        var slowQueryLogger = new SlowQueryLogger(
+                environment.getProperty("datasource.slow-query.threshold-ms", Long.class, 500L),
+                environment.getProperty("datasource.slow-query.sample-rate", Double.class, 1.0),
+                environment.getProperty("datasource.slow-query.max-per-second", Integer.class, 10));
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && DATA_SOURCE_BEAN.equals(beanName)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(DATA_SOURCE_BEAN)
+                            .listener(slowQueryLogger)
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
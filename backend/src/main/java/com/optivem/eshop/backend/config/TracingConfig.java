@@ -0,0 +1,64 @@
+package com.optivem.eshop.backend.config;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import net.ttddyy.observation.tracing.DataSourceObservationListener;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.actuate.autoconfigure.observation.ObservationRegistryCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Spans for the request, the @Observed services and the gateways come from Spring Boot's OpenTelemetry bridge;
+// this adds the JDBC spans and the offline file exporter. Nothing here is created while tracing is off
+@Configuration
+@ConditionalOnProperty(name = "management.tracing.enabled", havingValue = "true")
+public class TracingConfig {
+
+    // Same bean as SlowQueryLoggingConfig wraps, so each statement gets one span wherever it is routed
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+    private static final String JDBC_OBSERVATION_PREFIX = "jdbc.";
+
+    // Static so the post-processor is registered before the DataSource is created
+    @Bean
+    public static BeanPostProcessor jdbcObservationDataSourcePostProcessor(
+            ObjectProvider<ObservationRegistry> observationRegistry) {
+        var listener = new DataSourceObservationListener(observationRegistry::getObject);
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && DATA_SOURCE_BEAN.equals(beanName)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(DATA_SOURCE_BEAN)
+                            .listener(listener)
+                            .methodListener(listener)
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Background jobs (archival, lag checks, cache notifications) would otherwise start a trace per statement
+    @Bean
+    public ObservationRegistryCustomizer<ObservationRegistry> jdbcObservationsWithinRequestsOnly() {
+        return registry -> registry.observationConfig().observationPredicate((name, context) ->
+                !name.startsWith(JDBC_OBSERVATION_PREFIX) || registry.getCurrentObservation() != null);
+    }
+
+    // Picked up by Spring Boot's span processor next to the OTLP exporter, when one is configured
+    @Bean
+    @ConditionalOnExpression("!'${tracing.file.path:}'.isBlank()")
+    public SpanExporter fileSpanExporter(@Value("${tracing.file.path}") String path) throws IOException {
+        return new FileSpanExporter(Path.of(path));
+    }
+}
@@ -0,0 +1,284 @@
+package com.optivem.eshop.backend.core.cache;
+
+import com.optivem.eshop.backend.core.entities.Coupon;
+import com.optivem.eshop.backend.core.repositories.CouponRepository;
+import com.optivem.eshop.backend.core.services.external.ClockGateway;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.LongBuffer;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Every coupon's validity window and discount rate by code, so getDiscount checks a coupon in memory, and the ids of
+// all coupons grouped by window, plus the set of windows that contain the ClockGateway time, so the active coupons
+// can be listed without scanning the coupons table. The codes of a campaign share one terms object and one window, so
+// even millions of coupons take little more than their codes. Usage counts stay in the database, the only place they
+// are current across nodes: the listing and the usage increment check them in SQL.
+// Pending activations and expirations are kept in time order, so moving the clock forward only touches the windows
+// that open or close; a clock moving backwards, as stub-mode tests may do, rebuilds the active set. A scheduled tick
+// moves the active set to the ClockGateway time, and each listing moves it to the time it passes in
+@Component
+// Scheduled methods are only registered on initialized beans, so opt out of lazy initialization
+@Lazy(false)
+public class ActiveCouponIndex implements Invalidatable<String> {
+
+    public static final String CACHE_NAME = "coupons";
+
+    private final CouponRepository couponRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final ClockGateway clockGateway;
+
+    // Read without the lock; a code missing while the index reloads is read from the database instead
+    private final Map<String, CouponTerms> termsByCode = new ConcurrentHashMap<>();
+    private final Map<CouponTerms, CouponTerms> sharedTerms = new HashMap<>();
+    private final Map<Window, Ids> idsByWindow = new HashMap<>();
+    private final TreeMap<Instant, Set<Window>> pendingActivations = new TreeMap<>();
+    private final TreeMap<Instant, Set<Window>> pendingExpirations = new TreeMap<>();
+    private final Set<Window> activeWindows = new HashSet<>();
+    private Instant asOf;
+    private volatile boolean loaded;
+    // Null after the active windows changed; the next listing collects it again
+    private long[] activeIds;
+
+    public ActiveCouponIndex(CouponRepository couponRepository, PlatformTransactionManager transactionManager,
+                             CacheInvalidationBus cacheInvalidationBus, ClockGateway clockGateway) {
+        this.couponRepository = couponRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.clockGateway = clockGateway;
+        cacheInvalidationBus.register(CACHE_NAME, this);
+    }
+
+    // The terms of the coupon with this code, or empty if there is none. A code the index does not hold, e.g. created
+    // on another node whose notification has not arrived, is read from the database and added
+    public Optional<CouponTerms> find(String code) {
+        if (!loaded) {
+            ensureLoaded();
+        }
+        var terms = termsByCode.get(code);
+        if (terms != null) {
+            return Optional.of(terms);
+        }
+        return couponRepository.findByCode(code).map(this::add);
+    }
+
+    // Ids of the coupons whose validity window contains now, in no particular order. May hold an id twice, when a
+    // coupon was announced while the index was loading; the listing query returns each coupon once
+    public synchronized LongBuffer activeIds(Instant now) {
+        if (!loaded) {
+            load();
+        }
+        advanceTo(now);
+        if (activeIds == null) {
+            activeIds = collectActiveIds();
+        }
+        return LongBuffer.wrap(activeIds).asReadOnlyBuffer();
+    }
+
+    @Scheduled(fixedDelayString = "${coupons.index.tick-interval-ms:1000}")
+    public void tick() {
+        if (loaded) {
+            var now = clockGateway.getCurrentTime();
+            synchronized (this) {
+                advanceTo(now);
+            }
+        }
+    }
+
+    // Records a coupon this node created, and tells the other nodes to read it
+    public void changed(Coupon coupon) {
+        add(coupon);
+        cacheInvalidationBus.notifyOtherNodes(CACHE_NAME, coupon.getCode());
+    }
+
+    // An increment found the coupon at its usage limit. Usage counts only grow, so later orders can be refused before
+    // they are priced; other nodes find out from their own increment, or when they reload
+    public void usedUp(String code) {
+        termsByCode.computeIfPresent(code, (key, terms) -> terms.usedUp() ? terms
+                : new CouponTerms(terms.validFrom(), terms.validTo(), terms.discountRate(), true));
+    }
+
+    // Another node created this coupon. Windows never change after creation and coupons are not deleted, so there is
+    // nothing to remove
+    @Override
+    public void invalidate(String code) {
+        if (loaded) {
+            couponRepository.findByCode(code).ifPresent(this::add);
+        }
+    }
+
+    // After a bulk import, or missed notifications; the next lookup or listing reloads
+    @Override
+    public synchronized void invalidateAll() {
+        loaded = false;
+    }
+
+    private synchronized void ensureLoaded() {
+        if (!loaded) {
+            load();
+        }
+    }
+
+    private synchronized CouponTerms add(Coupon coupon) {
+        var terms = share(new CouponTerms(coupon.getValidFrom(), coupon.getValidTo(), coupon.getDiscountRate(),
+                usedUp(coupon.getUsageLimit(), coupon.getUsedCount())));
+        if (!loaded) {
+            return terms;
+        }
+        termsByCode.put(coupon.getCode(), terms);
+        var window = new Window(coupon.getValidFrom(), coupon.getValidTo());
+        var isNew = addId(window, coupon.getId());
+        if (isNew && asOf != null) {
+            schedule(window, asOf);
+        }
+        if (activeWindows.contains(window)) {
+            activeIds = null;
+        }
+        return terms;
+    }
+
+    // Streams seven columns, so neither the entities nor the full result set are held in memory. The active set is
+    // rebuilt at the time of the next listing or tick
+    private void load() {
+        termsByCode.clear();
+        sharedTerms.clear();
+        idsByWindow.clear();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (var rows = couponRepository.streamIndexed()) {
+                rows.forEach(row -> {
+                    termsByCode.put(row.getCode(), share(new CouponTerms(row.getValidFrom(), row.getValidTo(),
+                            row.getDiscountRate(), usedUp(row.getUsageLimit(), row.getUsedCount()))));
+                    addId(new Window(row.getValidFrom(), row.getValidTo()), row.getId());
+                });
+            }
+        });
+        asOf = null;
+        activeIds = null;
+        loaded = true;
+    }
+
+    private static boolean usedUp(Integer usageLimit, int usedCount) {
+        return usageLimit != null && usedCount >= usageLimit;
+    }
+
+    private CouponTerms share(CouponTerms terms) {
+        var shared = sharedTerms.putIfAbsent(terms, terms);
+        return shared != null ? shared : terms;
+    }
+
+    private boolean addId(Window window, long id) {
+        var ids = idsByWindow.get(window);
+        var isNew = ids == null;
+        if (isNew) {
+            ids = new Ids();
+            idsByWindow.put(window, ids);
+        }
+        ids.add(id);
+        return isNew;
+    }
+
+    private void advanceTo(Instant now) {
+        if (asOf == null || now.isBefore(asOf)) {
+            rebuild(now);
+            return;
+        }
+        if (now.equals(asOf)) {
+            return;
+        }
+
+        var changed = false;
+        var opening = pendingActivations.headMap(now, true);
+        for (var windows : opening.values()) {
+            for (var window : windows) {
+                schedule(window, now);
+                changed = true;
+            }
+        }
+        opening.clear();
+
+        // A coupon is still valid at exactly validTo
+        var closing = pendingExpirations.headMap(now, false);
+        for (var windows : closing.values()) {
+            changed |= activeWindows.removeAll(windows);
+        }
+        closing.clear();
+
+        asOf = now;
+        if (changed) {
+            activeIds = null;
+        }
+    }
+
+    private void rebuild(Instant now) {
+        pendingActivations.clear();
+        pendingExpirations.clear();
+        activeWindows.clear();
+        asOf = now;
+        idsByWindow.keySet().forEach(window -> schedule(window, now));
+        activeIds = null;
+    }
+
+    private void schedule(Window window, Instant now) {
+        if (window.validFrom() != null && now.isBefore(window.validFrom())) {
+            pendingActivations.computeIfAbsent(window.validFrom(), key -> new HashSet<>()).add(window);
+            return;
+        }
+        if (window.validTo() != null && now.isAfter(window.validTo())) {
+            return;
+        }
+        activeWindows.add(window);
+        if (window.validTo() != null) {
+            pendingExpirations.computeIfAbsent(window.validTo(), key -> new HashSet<>()).add(window);
+        }
+    }
+
+    private long[] collectActiveIds() {
+        var size = 0;
+        for (var window : activeWindows) {
+            size += idsByWindow.get(window).size;
+        }
+        var collected = new long[size];
+        var position = 0;
+        for (var window : activeWindows) {
+            var ids = idsByWindow.get(window);
+            System.arraycopy(ids.values, 0, collected, position, ids.size);
+            position += ids.size;
+        }
+        return collected;
+    }
+
+    // What getDiscount needs to check a coupon; null bounds are open
+    public record CouponTerms(Instant validFrom, Instant validTo, BigDecimal discountRate, boolean usedUp) {
+    }
+
+    private record Window(Instant validFrom, Instant validTo) {
+    }
+
+    // Growable array of primitive ids, a fraction of the size of a boxed collection
+    private static final class Ids {
+
+        private long[] values = new long[1];
+        private int size;
+
+        void add(long id) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = id;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.optivem.eshop.backend.core.cache;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Keeps in-process caches consistent across replicas over PostgreSQL LISTEN/NOTIFY, with no extra infrastructure.
+// Off by default, since a single node has nobody to notify; enable it when more than one backend node runs
+@Component
+public class CacheInvalidationBus implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationBus.class);
+    private static final String CHANNEL = "cache_invalidation";
+    private static final String NOTIFY_SQL = "SELECT pg_notify(?, ?)";
+    // NOTIFY payloads are limited to 8000 bytes; stay well below so a batch never fails as a whole
+    private static final int MAX_PAYLOAD_LENGTH = 7000;
+    private static final String ALL_KEYS = "*";
+    private static final long MAX_RECONNECT_DELAY_MS = 30_000;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final ConcurrentHashMap<String, Invalidatable<String>> caches = new ConcurrentHashMap<>();
+    private final BlockingQueue<String> pending = new LinkedBlockingQueue<>();
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${cache.invalidation.enabled:false}")
+    private boolean enabled;
+
+    @Value("${cache.invalidation.batch-window-ms:50}")
+    private long batchWindowMs;
+
+    @Value("${cache.invalidation.poll-timeout-ms:10000}")
+    private int pollTimeoutMs;
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${spring.datasource.username}")
+    private String username;
+
+    @Value("${spring.datasource.password}")
+    private String password;
+
+    private volatile boolean running;
+    // LISTEN holds its connection for as long as the node runs, so it gets a pool of its own rather than one of the
+    // application's connections
+    private HikariDataSource listenerPool;
+    private Thread listener;
+    private Thread publisher;
+
+    public CacheInvalidationBus(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void register(String cacheName, Invalidatable<String> cache) {
+        caches.put(cacheName, cache);
+    }
+
+    // Call after the change is committed, otherwise another node may reload and cache the old value
+    public void invalidate(String cacheName, String key) {
+        invalidateLocally(cacheName, key);
+        if (enabled) {
+            pending.offer(encode(cacheName, key));
+        }
+    }
+
+    public void invalidateAll(String cacheName) {
+        invalidate(cacheName, ALL_KEYS);
+    }
+
+    // For caches that already applied the change themselves and only need the other nodes to catch up
+    public void notifyOtherNodes(String cacheName, String key) {
+        if (enabled) {
+            pending.offer(encode(cacheName, key));
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        listenerPool = createListenerPool();
+        running = true;
+        // Platform threads: the JDBC driver blocks inside synchronized code, which would pin a virtual thread's carrier
+        listener = Thread.ofPlatform().daemon().name("cache-invalidation-listener").start(this::listen);
+        publisher = Thread.ofPlatform().daemon().name("cache-invalidation-publisher").start(this::publish);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+        if (publisher != null) {
+            publisher.interrupt();
+        }
+        if (listenerPool != null) {
+            listenerPool.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void publish() {
+        while (running) {
+            try {
+                var first = pending.take();
+                // Wait briefly so invalidations from a burst of writes share one NOTIFY
+                Thread.sleep(batchWindowMs);
+
+                Set<String> batch = new LinkedHashSet<>();
+                batch.add(first);
+                pending.drainTo(batch);
+                for (var payload : toPayloads(batch)) {
+                    jdbcTemplate.queryForRowSet(NOTIFY_SQL, CHANNEL, payload);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Other nodes fall back to TTL expiry for this batch, and fully resync on their next reconnect
+                log.warn("Failed to publish cache invalidations: {}", e.getMessage());
+            }
+        }
+    }
+
+    private List<String> toPayloads(Set<String> entries) {
+        List<String> payloads = new ArrayList<>();
+        var payload = new StringBuilder(nodeId);
+        for (var entry : entries) {
+            if (payload.length() + entry.length() + 1 > MAX_PAYLOAD_LENGTH) {
+                payloads.add(payload.toString());
+                payload = new StringBuilder(nodeId);
+            }
+            payload.append('\n').append(entry);
+        }
+        payloads.add(payload.toString());
+        return payloads;
+    }
+
+    private void listen() {
+        var reconnectDelayMs = 1000L;
+        while (running) {
+            try (var connection = listenerPool.getConnection()) {
+                var pgConnection = connection.unwrap(PGConnection.class);
+                try (var statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+
+                // Anything published while this node was not listening has been missed
+                caches.values().forEach(Invalidatable::invalidateAll);
+                reconnectDelayMs = 1000L;
+                log.info("Listening for cache invalidations");
+
+                while (running) {
+                    var notifications = pgConnection.getNotifications(pollTimeoutMs);
+                    if (notifications == null || notifications.length == 0) {
+                        // Surfaces a dead connection instead of waiting on it forever
+                        try (var statement = connection.createStatement()) {
+                            statement.execute("SELECT 1");
+                        }
+                        continue;
+                    }
+                    for (var notification : notifications) {
+                        apply(notification.getParameter());
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                // Includes a cache failing its resync: reconnecting resyncs every cache again, so none stays stale
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache invalidation listener failed, reconnecting in {} ms: {}", reconnectDelayMs, e.getMessage());
+                try {
+                    TimeUnit.MILLISECONDS.sleep(reconnectDelayMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                reconnectDelayMs = Math.min(reconnectDelayMs * 2, MAX_RECONNECT_DELAY_MS);
+            }
+        }
+    }
+
+    private HikariDataSource createListenerPool() {
+        var config = new HikariConfig();
+        config.setPoolName("cache-invalidation");
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMaximumPoolSize(1);
+        // The listener retries with backoff, so a database that is down must not block startup
+        config.setInitializationFailTimeout(-1);
+        return new HikariDataSource(config);
+    }
+
+    private void apply(String payload) {
+        var lines = payload.split("\n");
+        if (lines.length == 0 || nodeId.equals(lines[0])) {
+            // Already applied locally when published
+            return;
+        }
+        for (int i = 1; i < lines.length; i++) {
+            var separator = lines[i].indexOf('\t');
+            if (separator < 0) {
+                continue;
+            }
+            var cacheName = lines[i].substring(0, separator);
+            var key = URLDecoder.decode(lines[i].substring(separator + 1), StandardCharsets.UTF_8);
+            try {
+                invalidateLocally(cacheName, key);
+            } catch (RuntimeException e) {
+                // E.g. the cache could not read the changed entry back; dropping all of it makes it reload on next use
+                log.warn("Failed to invalidate {} in cache {}, invalidating the whole cache: {}", key, cacheName,
+                        e.getMessage());
+                invalidateLocally(cacheName, ALL_KEYS);
+            }
+        }
+    }
+
+    private void invalidateLocally(String cacheName, String key) {
+        var cache = caches.get(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (ALL_KEYS.equals(key)) {
+            cache.invalidateAll();
+        } else {
+            cache.invalidate(key);
+        }
+    }
+
+    private static String encode(String cacheName, String key) {
+        return cacheName + '\t' + URLEncoder.encode(key, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,73 @@
+package com.optivem.eshop.backend.core.cache;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+public class ExpiringCache<K, V> implements Invalidatable<K> {
+
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxSize;
+
+    public ExpiringCache(Duration ttl, int maxSize) {
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl must be positive");
+        }
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.ttlNanos = ttl.toNanos();
+        this.maxSize = maxSize;
+    }
+
+    public V get(K key, Function<K, V> loader) {
+        var value = getIfPresent(key);
+        if (value != null) {
+            return value;
+        }
+
+        // Concurrent misses may load the same key twice, which is cheaper than holding a lock across a remote call
+        value = loader.apply(key);
+        if (value != null) {
+            put(key, value);
+        }
+        return value;
+    }
+
+    // Returns null on a miss; for callers that load asynchronously and put the result themselves
+    public V getIfPresent(K key) {
+        var entry = entries.get(key);
+        if (entry != null && System.nanoTime() - entry.expiresAt() < 0) {
+            return entry.value();
+        }
+        return null;
+    }
+
+    public void put(K key, V value) {
+        var now = System.nanoTime();
+        if (entries.size() >= maxSize) {
+            evictExpired(now);
+        }
+        if (entries.size() < maxSize) {
+            entries.put(key, new Entry<>(value, now + ttlNanos));
+        }
+    }
+
+    @Override
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    @Override
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    private void evictExpired(long now) {
+        entries.values().removeIf(entry -> now - entry.expiresAt() >= 0);
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
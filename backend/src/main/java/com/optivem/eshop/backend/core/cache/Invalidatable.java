@@ -0,0 +1,9 @@
+package com.optivem.eshop.backend.core.cache;
+
+// Anything CacheInvalidationBus can invalidate on behalf of another node
+public interface Invalidatable<K> {
+
+    void invalidate(K key);
+
+    void invalidateAll();
+}
@@ -0,0 +1,203 @@
+package com.optivem.eshop.backend.core.cache;
+
+import com.optivem.eshop.backend.core.entities.Order;
+import com.optivem.eshop.backend.core.events.OrderChangedEvent;
+import com.optivem.eshop.backend.core.repositories.OrderStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// The newest orders, kept current from OrderChangedEvent, so the default history view and lookups of recent
+// orders skip the database. Readers get an immutable snapshot; writers replace it under a lock.
+@Component
+public class RecentOrdersWindow implements Invalidatable<String> {
+
+    public static final String CACHE_NAME = "recent-orders";
+
+    private static final Comparator<Order> NEWEST_FIRST = Comparator.comparing(Order::getOrderTimestamp)
+            .thenComparing(Order::getId, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .reversed();
+
+    private final OrderStore orderStore;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final boolean enabled;
+    private final int capacity;
+    private final long maxAgeNanos;
+
+    // Null until loaded, and again after invalidateAll
+    private volatile Snapshot snapshot;
+
+    public RecentOrdersWindow(OrderStore orderStore, CacheInvalidationBus cacheInvalidationBus,
+                              @Value("${orders.recent-window.enabled:true}") boolean enabled,
+                              @Value("${orders.recent-window.size:500}") int capacity,
+                              @Value("${orders.recent-window.max-age-ms:30000}") long maxAgeMillis) {
+        this.orderStore = orderStore;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.maxAgeNanos = maxAgeMillis * 1_000_000;
+        cacheInvalidationBus.register(CACHE_NAME, this);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (enabled) {
+            current();
+        }
+    }
+
+    // The newest orders, newest first; empty when the window cannot tell, e.g. more are asked for than it holds
+    public Optional<List<Order>> newest(Integer limit) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        var current = current();
+        if (limit == null) {
+            return current.complete() ? Optional.of(current.newestFirst()) : Optional.empty();
+        }
+        if (limit <= current.newestFirst().size()) {
+            return Optional.of(current.newestFirst().subList(0, limit));
+        }
+        return current.complete() ? Optional.of(current.newestFirst()) : Optional.empty();
+    }
+
+    // Empty means the order is not among the recent ones, not that it does not exist
+    public Optional<Order> find(String orderNumber) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(current().byOrderNumber().get(orderNumber));
+    }
+
+    @EventListener
+    public void onOrderChanged(OrderChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        apply(event.order());
+        cacheInvalidationBus.notifyOtherNodes(CACHE_NAME, event.order().getOrderNumber());
+    }
+
+    // Another node changed this order and committed it; reads it back and applies it alone, so the rest of the
+    // snapshot stays valid
+    @Override
+    public void invalidate(String orderNumber) {
+        if (enabled) {
+            reread(orderNumber);
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        snapshot = null;
+    }
+
+    private Snapshot current() {
+        var current = snapshot;
+        if (current != null && System.nanoTime() - current.loadedAt() < maxAgeNanos) {
+            return current;
+        }
+        return reload();
+    }
+
+    private synchronized Snapshot reload() {
+        var current = snapshot;
+        if (current != null && System.nanoTime() - current.loadedAt() < maxAgeNanos) {
+            return current;
+        }
+
+        // Loading under the lock means no event can be applied to a snapshot that is about to be replaced
+        var loadedAt = System.nanoTime();
+        var orders = orderStore.findAllByOrderByOrderTimestampDesc(Limit.of(capacity)).stream()
+                .map(RecentOrdersWindow::copyOf)
+                .toList();
+        current = Snapshot.of(orders, orders.size() < capacity, loadedAt);
+        snapshot = current;
+        return current;
+    }
+
+    // Under the lock, so a read of an older state of the order cannot be applied after a newer one
+    private synchronized void reread(String orderNumber) {
+        var current = snapshot;
+        if (current == null) {
+            return;
+        }
+
+        var changed = orderStore.findByOrderNumber(orderNumber);
+        if (changed.isPresent()) {
+            apply(changed.get());
+        } else if (current.byOrderNumber().containsKey(orderNumber)) {
+            // No longer in the orders table. A window holding every order stays exact without it; any other window
+            // would now end short of the newest capacity orders, with the next one only in the database
+            if (!current.complete()) {
+                snapshot = null;
+                return;
+            }
+            var orders = new ArrayList<>(current.newestFirst());
+            orders.removeIf(order -> order.getOrderNumber().equals(orderNumber));
+            snapshot = Snapshot.of(List.copyOf(orders), true, current.loadedAt());
+        }
+    }
+
+    private synchronized void apply(Order changed) {
+        var current = snapshot;
+        if (current == null) {
+            // The next reload reads the change from the database
+            return;
+        }
+
+        var orders = new ArrayList<>(current.newestFirst());
+        var wasPresent = orders.removeIf(order -> order.getOrderNumber().equals(changed.getOrderNumber()));
+        if (!wasPresent && !current.complete() && orders.size() >= capacity
+                && NEWEST_FIRST.compare(changed, orders.get(orders.size() - 1)) > 0) {
+            // Older than every order the window holds
+            return;
+        }
+
+        var copy = copyOf(changed);
+        var index = 0;
+        while (index < orders.size() && NEWEST_FIRST.compare(orders.get(index), copy) < 0) {
+            index++;
+        }
+        orders.add(index, copy);
+
+        var complete = current.complete();
+        while (orders.size() > capacity) {
+            orders.remove(orders.size() - 1);
+            complete = false;
+        }
+        snapshot = Snapshot.of(List.copyOf(orders), complete, current.loadedAt());
+    }
+
+    // Detached copy, so later changes to the managed entity cannot leak into the window
+    private static Order copyOf(Order order) {
+        var copy = new Order(order.getOrderNumber(), order.getOrderTimestamp(), order.getCountry(),
+                order.getSku(), order.getQuantity(), order.getUnitPrice(), order.getBasePrice(),
+                order.getDiscountRate(), order.getDiscountAmount(), order.getSubtotalPrice(),
+                order.getTaxRate(), order.getTaxAmount(), order.getTotalPrice(), order.getStatus(),
+                order.getAppliedCouponCode());
+        copy.setId(order.getId());
+        return copy;
+    }
+
+    // complete: the window holds every order in the table
+    private record Snapshot(List<Order> newestFirst, Map<String, Order> byOrderNumber, boolean complete, long loadedAt) {
+
+        static Snapshot of(List<Order> newestFirst, boolean complete, long loadedAt) {
+            Map<String, Order> byOrderNumber = new HashMap<>();
+            newestFirst.forEach(order -> byOrderNumber.put(order.getOrderNumber(), order));
+            return new Snapshot(newestFirst, Map.copyOf(byOrderNumber), complete, loadedAt);
+        }
+    }
+}
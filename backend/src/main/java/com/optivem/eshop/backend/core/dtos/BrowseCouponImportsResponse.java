@@ -0,0 +1,10 @@
+package com.optivem.eshop.backend.core.dtos;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BrowseCouponImportsResponse {
+    private List<CouponImportResponse> imports;
+}
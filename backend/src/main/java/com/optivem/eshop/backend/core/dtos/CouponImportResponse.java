@@ -0,0 +1,17 @@
+package com.optivem.eshop.backend.core.dtos;
+
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+public class CouponImportResponse {
+    private String importId;
+    private String status;
+    private Instant startedAt;
+    private long rowsRead;
+    private long inserted;
+    // Codes that already existed, or appeared more than once in the same import
+    private long skipped;
+    private long elapsedMs;
+}
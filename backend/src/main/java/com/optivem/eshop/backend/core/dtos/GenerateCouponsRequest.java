@@ -0,0 +1,37 @@
+package com.optivem.eshop.backend.core.dtos;
+
+import com.optivem.eshop.backend.core.validation.TypeValidationMessage;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Data
+public class GenerateCouponsRequest {
+    // Each # becomes a random digit and each ? a random letter or digit, e.g. SPRING-????-????
+    @NotBlank(message = "Pattern must not be blank")
+    private String pattern;
+
+    @NotNull(message = "Count must not be null")
+    @Positive(message = "Count must be positive")
+    @TypeValidationMessage("Count must be an integer")
+    private Integer count;
+
+    @NotNull(message = "Discount rate must not be null")
+    @DecimalMin(value = "0.0", inclusive = false, message = "Discount rate must be greater than 0.00")
+    @DecimalMax(value = "1.0", message = "Discount rate must be at most 1.00")
+    private BigDecimal discountRate;
+
+    private Instant validFrom;
+
+    private Instant validTo;
+
+    // Defaults to single-use
+    @Positive(message = "Usage limit must be positive")
+    private Integer usageLimit;
+}
@@ -0,0 +1,20 @@
+package com.optivem.eshop.backend.core.dtos;
+
+import com.optivem.eshop.backend.core.entities.OrderStatus;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Data
+public class OrderEventResponse {
+    private String orderNumber;
+    private Instant orderTimestamp;
+    private String sku;
+    private String country;
+    private int quantity;
+    private BigDecimal totalPrice;
+    private OrderStatus status;
+    private OrderStatus previousStatus;
+    private String appliedCouponCode;
+}
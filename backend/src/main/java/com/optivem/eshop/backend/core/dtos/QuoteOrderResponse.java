@@ -0,0 +1,24 @@
+package com.optivem.eshop.backend.core.dtos;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Data
+public class QuoteOrderResponse {
+    private String sku;
+    private int quantity;
+    private String country;
+    private BigDecimal unitPrice;
+    private BigDecimal basePrice;
+    private BigDecimal discountRate;
+    private BigDecimal discountAmount;
+    private BigDecimal subtotalPrice;
+    private BigDecimal taxRate;
+    private BigDecimal taxAmount;
+    private BigDecimal totalPrice;
+    private String appliedCouponCode;
+    private String quoteToken;
+    private Instant expiresAt;
+}
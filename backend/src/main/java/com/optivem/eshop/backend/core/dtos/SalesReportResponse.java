@@ -0,0 +1,24 @@
+package com.optivem.eshop.backend.core.dtos;
+
+import com.optivem.eshop.backend.core.entities.OrderStatus;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class SalesReportResponse {
+    private List<SalesReportItemResponse> items;
+
+    @Data
+    public static class SalesReportItemResponse {
+        private LocalDate date;
+        private String sku;
+        private String country;
+        private OrderStatus status;
+        private long orderCount;
+        private long totalQuantity;
+        private BigDecimal totalRevenue;
+    }
+}
@@ -0,0 +1,88 @@
+package com.optivem.eshop.backend.core.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// Cold storage for delivered and cancelled orders moved out of the orders table by the archival job
+@Entity
+@Table(name = "orders_archive", indexes = {
+        // Pages the history with includeArchived without reading the whole archive
+        @Index(name = "idx_orders_archive_order_timestamp", columnList = "order_timestamp")
+})
+@Data
+@NoArgsConstructor
+public class ArchivedOrder {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "order_number", nullable = false, unique = true)
+    private String orderNumber;
+
+    @Column(name = "order_timestamp", nullable = false)
+    private Instant orderTimestamp;
+
+    @Column(name = "country", nullable = false)
+    private String country;
+
+    @Column(name = "sku", nullable = false)
+    private String sku;
+
+    @Column(name = "quantity", nullable = false)
+    private int quantity;
+
+    @Column(name = "unit_price", nullable = false, precision = 10, scale = 2)
+    private BigDecimal unitPrice;
+
+    @Column(name = "base_price", nullable = false, precision = 10, scale = 2)
+    private BigDecimal basePrice;
+
+    @Column(name = "discount_rate", nullable = false, precision = 5, scale = 4)
+    private BigDecimal discountRate;
+
+    @Column(name = "discount_amount", nullable = false, precision = 10, scale = 2)
+    private BigDecimal discountAmount;
+
+    @Column(name = "subtotal_price", nullable = false, precision = 10, scale = 2)
+    private BigDecimal subtotalPrice;
+
+    @Column(name = "tax_rate", nullable = false, precision = 5, scale = 4)
+    private BigDecimal taxRate;
+
+    @Column(name = "tax_amount", nullable = false, precision = 10, scale = 2)
+    private BigDecimal taxAmount;
+
+    @Column(name = "total_price", nullable = false, precision = 10, scale = 2)
+    private BigDecimal totalPrice;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private OrderStatus status;
+
+    @Column(name = "applied_coupon_code", nullable = true)
+    private String appliedCouponCode;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+
+    public Order toOrder() {
+        return new Order(orderNumber, orderTimestamp, country,
+                sku, quantity, unitPrice, basePrice,
+                discountRate, discountAmount, subtotalPrice,
+                taxRate, taxAmount, totalPrice, status,
+                appliedCouponCode);
+    }
+}
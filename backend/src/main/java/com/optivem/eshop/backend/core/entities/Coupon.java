@@ -12,13 +12,16 @@ import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 import java.time.Instant;
 
+// Mapped by JPA and, for the reactive profile, by Spring Data R2DBC
 @Entity
+@org.springframework.data.relational.core.mapping.Table("coupons")
 @Table(name = "coupons")
 @Data
 @NoArgsConstructor
 public class Coupon {
 
     @Id
+    @org.springframework.data.annotation.Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id")
     private Long id;
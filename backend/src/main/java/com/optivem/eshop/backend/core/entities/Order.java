@@ -7,6 +7,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -14,12 +15,18 @@ import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 import java.time.Instant;
 
+// Mapped by JPA and, for the reactive profile, by Spring Data R2DBC
 @Entity
-@Table(name = "orders")
+@org.springframework.data.relational.core.mapping.Table("orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_order_timestamp", columnList = "order_timestamp"),
+        @Index(name = "idx_orders_status_order_timestamp", columnList = "status, order_timestamp")
+})
 @Data
 @NoArgsConstructor
 public class Order {
     @Id
+    @org.springframework.data.annotation.Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id")
     private Long id;
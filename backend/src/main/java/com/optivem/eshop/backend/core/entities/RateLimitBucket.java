@@ -0,0 +1,24 @@
+package com.optivem.eshop.backend.core.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Shared GCRA state for multi-node rate limiting; only read and written through PostgresRateLimitStore
+@Entity
+@Table(name = "rate_limit_buckets")
+@Data
+@NoArgsConstructor
+public class RateLimitBucket {
+
+    @Id
+    @Column(name = "bucket_key", nullable = false)
+    private String bucketKey;
+
+    // Theoretical arrival time of the next request, in epoch milliseconds
+    @Column(name = "tat_millis", nullable = false)
+    private long tatMillis;
+}
@@ -0,0 +1,8 @@
+package com.optivem.eshop.backend.core.events;
+
+import com.optivem.eshop.backend.core.entities.Order;
+import com.optivem.eshop.backend.core.entities.OrderStatus;
+
+// Published after an order has been saved; previousStatus is null for newly placed orders
+public record OrderChangedEvent(Order order, OrderStatus previousStatus) {
+}
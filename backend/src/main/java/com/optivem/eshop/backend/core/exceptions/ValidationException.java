@@ -1,5 +1,6 @@
 package com.optivem.eshop.backend.core.exceptions;
 
+// Stackless: these are expected business rejections rendered as 4xx responses, so a stack trace is never read
 public class ValidationException extends RuntimeException {
     private final String fieldName;
     
@@ -8,7 +9,7 @@ public class ValidationException extends RuntimeException {
     }
     
     public ValidationException(String fieldName, String message) {
-        super(message);
+        super(message, null, false, false);
         this.fieldName = fieldName;
     }
     
@@ -0,0 +1,27 @@
+package com.optivem.eshop.backend.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Emitted when an order increments a coupon's usage count
+@Name("com.optivem.eshop.CouponRedeemed")
+@Label("Coupon Redeemed")
+@Category({"eShop", "Coupons"})
+@StackTrace(false)
+public final class CouponRedeemedEvent extends Event {
+
+    @Label("Coupon Code")
+    private String couponCode;
+
+    // Usage counts are incremented in SQL without reading the row back, so the event carries only the code
+    public static void emit(String couponCode) {
+        var event = new CouponRedeemedEvent();
+        if (event.shouldCommit()) {
+            event.couponCode = couponCode;
+            event.commit();
+        }
+    }
+}
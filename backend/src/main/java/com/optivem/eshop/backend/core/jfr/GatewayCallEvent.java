@@ -0,0 +1,59 @@
+package com.optivem.eshop.backend.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// One outbound ERP, tax or clock request, from sending it until the response headers arrive or it fails
+@Name("com.optivem.eshop.GatewayCall")
+@Label("Gateway Call")
+@Category({"eShop", "Gateways"})
+@StackTrace(false)
+public final class GatewayCallEvent extends Event {
+
+    @Label("Gateway")
+    private String gateway;
+
+    @Label("URI")
+    private String uri;
+
+    @Label("Async")
+    private boolean async;
+
+    // 0 when no response was received
+    @Label("Status")
+    private int status;
+
+    // From Content-Length; -1 when the response did not declare it
+    @Label("Response Size")
+    @DataAmount
+    private long bytes;
+
+    @Label("Error")
+    private String error;
+
+    public void start(String gateway, String uri, boolean async) {
+        this.gateway = gateway;
+        this.uri = uri;
+        this.async = async;
+        begin();
+    }
+
+    public void completed(int status, long bytes) {
+        if (shouldCommit()) {
+            this.status = status;
+            this.bytes = bytes;
+            commit();
+        }
+    }
+
+    public void failed(Throwable error) {
+        if (shouldCommit()) {
+            this.error = error.getClass().getSimpleName() + ": " + error.getMessage();
+            commit();
+        }
+    }
+}
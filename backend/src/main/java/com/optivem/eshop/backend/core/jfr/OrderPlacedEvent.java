@@ -0,0 +1,107 @@
+package com.optivem.eshop.backend.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+// Emitted by OrderService.placeOrder with the time spent in each stage; stages are only timed while a recording
+// enables the event, so outside a recording this costs one allocation
+@Name("com.optivem.eshop.OrderPlaced")
+@Label("Order Placed")
+@Category({"eShop", "Orders"})
+@StackTrace(false)
+public final class OrderPlacedEvent extends Event {
+
+    @Label("Order Number")
+    private String orderNumber;
+
+    @Label("SKU")
+    private String sku;
+
+    @Label("Country")
+    private String country;
+
+    @Label("Quantity")
+    private int quantity;
+
+    @Label("Coupon Applied")
+    private boolean couponApplied;
+
+    @Label("Clock")
+    @Timespan(Timespan.NANOSECONDS)
+    private long clockDuration;
+
+    // Includes quote token verification; with a valid token the ERP is not called
+    @Label("ERP")
+    @Timespan(Timespan.NANOSECONDS)
+    private long erpDuration;
+
+    @Label("Coupon")
+    @Timespan(Timespan.NANOSECONDS)
+    private long couponDuration;
+
+    @Label("Tax")
+    @Timespan(Timespan.NANOSECONDS)
+    private long taxDuration;
+
+    // Order row, sales rollup, change event listeners and coupon usage
+    @Label("Persistence")
+    @Timespan(Timespan.NANOSECONDS)
+    private long persistenceDuration;
+
+    private transient boolean timing;
+    private transient long stageStart;
+
+    public void start() {
+        timing = isEnabled();
+        if (timing) {
+            begin();
+            stageStart = System.nanoTime();
+        }
+    }
+
+    public void clockDone() {
+        clockDuration = lap();
+    }
+
+    public void erpDone() {
+        erpDuration = lap();
+    }
+
+    public void couponDone() {
+        couponDuration = lap();
+    }
+
+    // Pricing arithmetic is counted here, as it runs right after the tax lookup
+    public void taxDone() {
+        taxDuration = lap();
+    }
+
+    public void persistenceDone() {
+        persistenceDuration = lap();
+    }
+
+    public void placed(String orderNumber, String sku, String country, int quantity, boolean couponApplied) {
+        if (timing && shouldCommit()) {
+            this.orderNumber = orderNumber;
+            this.sku = sku;
+            this.country = country;
+            this.quantity = quantity;
+            this.couponApplied = couponApplied;
+            commit();
+        }
+    }
+
+    private long lap() {
+        if (!timing) {
+            return 0;
+        }
+        var now = System.nanoTime();
+        var elapsed = now - stageStart;
+        stageStart = now;
+        return elapsed;
+    }
+}
@@ -0,0 +1,50 @@
+package com.optivem.eshop.backend.core.replica;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.SQLException;
+
+// Takes replicas out of rotation while they lag behind the primary by more than the tolerance, or are unreachable
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    // A caught-up replica reports zero even when the primary has been idle since the last replayed transaction
+    private static final String LAG_SQL = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+            + " ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final long maxLagMillis;
+
+    public ReplicaLagMonitor(ReplicaRoutingDataSource routingDataSource, long maxLagMillis) {
+        this.routingDataSource = routingDataSource;
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval-ms:1000}")
+    public void checkLag() {
+        for (var replica : routingDataSource.getReplicas()) {
+            var wasUsable = replica.isUsable();
+            try (var connection = replica.getDataSource().getConnection();
+                 var statement = connection.createStatement();
+                 var resultSet = statement.executeQuery(LAG_SQL)) {
+                resultSet.next();
+                var lagMillis = resultSet.getLong(1);
+                var usable = lagMillis <= maxLagMillis;
+                replica.update(usable, lagMillis);
+                if (wasUsable && !usable) {
+                    log.warn("Replica {} is {} ms behind, routing its reads to the primary", replica.getName(), lagMillis);
+                } else if (!wasUsable && usable) {
+                    log.info("Replica {} is {} ms behind, routing reads to it", replica.getName(), lagMillis);
+                }
+            } catch (SQLException e) {
+                replica.update(false, -1);
+                if (wasUsable) {
+                    log.warn("Replica {} is unreachable, routing its reads to the primary: {}", replica.getName(), e.getMessage());
+                }
+            }
+        }
+    }
+}
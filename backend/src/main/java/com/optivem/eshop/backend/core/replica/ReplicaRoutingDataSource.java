@@ -0,0 +1,107 @@
+package com.optivem.eshop.backend.core.replica;
+
+import com.optivem.eshop.backend.core.services.OrderService;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Sends read-only service transactions to a replica within the lag tolerance, everything else to the primary
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+    private static final String SERVICES_PACKAGE = OrderService.class.getPackageName() + ".";
+
+    private final List<Replica> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach(replica -> targets.put(replica.getName(), replica.getDataSource()));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        this.replicas = List.copyOf(replicas);
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!isReplicaEligible()) {
+            return PRIMARY;
+        }
+
+        var start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            var replica = replicas.get((start + i) % replicas.size());
+            if (replica.isUsable()) {
+                return replica.getName();
+            }
+        }
+        return PRIMARY;
+    }
+
+    private static boolean isReplicaEligible() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || ReadYourWritesContext.isPrimaryRequired()) {
+            return false;
+        }
+
+        // Spring Data repositories open their own read-only transactions, e.g. for the lookup before a save,
+        // so only reads declared by a service may be served slightly stale
+        var transactionName = TransactionSynchronizationManager.getCurrentTransactionName();
+        return transactionName != null && transactionName.startsWith(SERVICES_PACKAGE);
+    }
+
+    public void close() {
+        for (var replica : replicas) {
+            if (replica.getDataSource() instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    logger.warn("Failed to close replica " + replica.getName(), e);
+                }
+            }
+        }
+    }
+
+    public static class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean usable;
+        private volatile long lagMillis = -1;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public DataSource getDataSource() {
+            return dataSource;
+        }
+
+        public boolean isUsable() {
+            return usable;
+        }
+
+        public long getLagMillis() {
+            return lagMillis;
+        }
+
+        void update(boolean usable, long lagMillis) {
+            this.usable = usable;
+            this.lagMillis = lagMillis;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.optivem.eshop.backend.core.repositories;
+
+import com.optivem.eshop.backend.core.entities.ArchivedOrder;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long> {
+
+    Optional<ArchivedOrder> findByOrderNumber(String orderNumber);
+
+    boolean existsByOrderNumber(String orderNumber);
+
+    List<ArchivedOrder> findAllByOrderByOrderTimestampDesc();
+
+    List<ArchivedOrder> findAllByOrderByOrderTimestampDesc(Limit limit);
+
+    List<ArchivedOrder> findByOrderNumberContainingIgnoreCaseOrderByOrderTimestampDesc(String orderNumber);
+
+    List<ArchivedOrder> findByOrderNumberContainingIgnoreCaseOrderByOrderTimestampDesc(String orderNumber, Limit limit);
+
+    // Moves one batch of old delivered/cancelled orders from orders to orders_archive in a single statement
+    @Modifying
+    @Query(value = """
+            WITH moved AS (
+                DELETE FROM orders
+                WHERE id IN (
+                    SELECT id FROM orders
+                    WHERE status IN ('DELIVERED', 'CANCELLED') AND order_timestamp < :cutoff
+                    ORDER BY order_timestamp
+                    LIMIT :batchSize
+                )
+                RETURNING *
+            )
+            INSERT INTO orders_archive (order_number, order_timestamp, country, sku, quantity,
+                                        unit_price, base_price, discount_rate, discount_amount, subtotal_price,
+                                        tax_rate, tax_amount, total_price, status, applied_coupon_code, archived_at)
+            SELECT order_number, order_timestamp, country, sku, quantity,
+                   unit_price, base_price, discount_rate, discount_amount, subtotal_price,
+                   tax_rate, tax_amount, total_price, status, applied_coupon_code, now()
+            FROM moved
+            """, nativeQuery = true)
+    int archiveOrdersBefore(@Param("cutoff") Instant cutoff, @Param("batchSize") int batchSize);
+}
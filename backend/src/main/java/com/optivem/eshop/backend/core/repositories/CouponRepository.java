@@ -1,13 +1,55 @@
 package com.optivem.eshop.backend.core.repositories;
 
 import com.optivem.eshop.backend.core.entities.Coupon;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CouponRepository extends JpaRepository<Coupon, Long> {
     // Find coupon by code (business identifier)
     Optional<Coupon> findByCode(String code);
+
+    // Fetched in chunks, so ActiveCouponIndex can read millions of rows without holding them; needs a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    @Query("SELECT c.id AS id, c.code AS code, c.discountRate AS discountRate, c.validFrom AS validFrom,"
+            + " c.validTo AS validTo, c.usageLimit AS usageLimit, c.usedCount AS usedCount FROM Coupon c")
+    Stream<IndexedCoupon> streamIndexed();
+
+    @Query("SELECT c FROM Coupon c WHERE c.id IN :ids AND (c.usageLimit IS NULL OR c.usedCount < c.usageLimit)")
+    List<Coupon> findWithUsesLeftByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Checks the usage limit in the same statement, so concurrent orders on any node cannot redeem past it
+    @Modifying
+    @Query("UPDATE Coupon c SET c.usedCount = c.usedCount + 1"
+            + " WHERE c.code = :code AND (c.usageLimit IS NULL OR c.usedCount < c.usageLimit)")
+    int incrementUsedCount(@Param("code") String code);
+
+    interface IndexedCoupon {
+        Long getId();
+
+        String getCode();
+
+        BigDecimal getDiscountRate();
+
+        Instant getValidFrom();
+
+        Instant getValidTo();
+
+        Integer getUsageLimit();
+
+        Integer getUsedCount();
+    }
 }
@@ -1,6 +1,7 @@
 package com.optivem.eshop.backend.core.repositories;
 
 import com.optivem.eshop.backend.core.entities.Order;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,7 +11,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderStore {
     // Spring Data JPA will automatically implement:
     // - save(Order order) - for both add and update
     // - findById(Long id) - returns Optional<Order>
@@ -21,8 +22,14 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     
     // Find all orders sorted by timestamp descending (most recent first)
     List<Order> findAllByOrderByOrderTimestampDesc();
+
+    List<Order> findAllByOrderByOrderTimestampDesc(Limit limit);
     
     // Find orders by order number containing the search term (case-insensitive), sorted by timestamp descending
     @Query("SELECT o FROM Order o WHERE LOWER(o.orderNumber) LIKE LOWER(CONCAT('%', :orderNumber, '%')) ORDER BY o.orderTimestamp DESC")
     List<Order> findByOrderNumberContainingIgnoreCaseOrderByOrderTimestampDesc(@Param("orderNumber") String orderNumber);
+
+    @Query("SELECT o FROM Order o WHERE LOWER(o.orderNumber) LIKE LOWER(CONCAT('%', :orderNumber, '%')) ORDER BY o.orderTimestamp DESC")
+    List<Order> findByOrderNumberContainingIgnoreCaseOrderByOrderTimestampDesc(@Param("orderNumber") String orderNumber,
+                                                                               Limit limit);
 }
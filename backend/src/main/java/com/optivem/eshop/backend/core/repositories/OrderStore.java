@@ -0,0 +1,24 @@
+package com.optivem.eshop.backend.core.repositories;
+
+import com.optivem.eshop.backend.core.entities.Order;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.Optional;
+
+// The order operations the services use: OrderRepository on the main database, or ShardedOrderRepository when
+// orders are spread over several databases
+public interface OrderStore {
+
+    <S extends Order> S save(S order);
+
+    Optional<Order> findByOrderNumber(String orderNumber);
+
+    List<Order> findAllByOrderByOrderTimestampDesc();
+
+    List<Order> findAllByOrderByOrderTimestampDesc(Limit limit);
+
+    List<Order> findByOrderNumberContainingIgnoreCaseOrderByOrderTimestampDesc(String orderNumber);
+
+    List<Order> findByOrderNumberContainingIgnoreCaseOrderByOrderTimestampDesc(String orderNumber, Limit limit);
+}
@@ -0,0 +1,22 @@
+package com.optivem.eshop.backend.core.repositories;
+
+import com.optivem.eshop.backend.core.entities.Coupon;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+// R2DBC counterpart of CouponRepository, only instantiated by the reactive profile
+@Repository
+public interface ReactiveCouponRepository extends R2dbcRepository<Coupon, Long> {
+
+    @Query("SELECT * FROM coupons WHERE code = :code")
+    Mono<Coupon> findByCode(@Param("code") String code);
+
+    // Increments in the database instead of read-modify-write, so concurrent orders cannot lose an update
+    @Modifying
+    @Query("UPDATE coupons SET used_count = used_count + 1 WHERE code = :code")
+    Mono<Void> incrementUsedCount(@Param("code") String code);
+}
@@ -0,0 +1,55 @@
+package com.optivem.eshop.backend.core.repositories;
+
+import com.optivem.eshop.backend.core.entities.Order;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// R2DBC counterpart of OrderRepository, only instantiated by the reactive profile
+@Repository
+public interface ReactiveOrderRepository extends R2dbcRepository<Order, Long> {
+
+    @Query("SELECT * FROM orders WHERE order_number = :orderNumber")
+    Mono<Order> findByOrderNumber(@Param("orderNumber") String orderNumber);
+
+    @Query("SELECT * FROM orders ORDER BY order_timestamp DESC")
+    Flux<Order> findAllByOrderByOrderTimestampDesc();
+
+    @Query("SELECT * FROM orders WHERE LOWER(order_number) LIKE LOWER(CONCAT('%', :orderNumber, '%')) ORDER BY order_timestamp DESC")
+    Flux<Order> findByOrderNumberContainingIgnoreCaseOrderByOrderTimestampDesc(@Param("orderNumber") String orderNumber);
+
+    // Archived rows share the orders columns, so they map onto Order directly
+    @Query("SELECT * FROM orders_archive WHERE order_number = :orderNumber")
+    Mono<Order> findArchivedByOrderNumber(@Param("orderNumber") String orderNumber);
+
+    @Query("SELECT * FROM orders_archive ORDER BY order_timestamp DESC")
+    Flux<Order> findAllArchivedByOrderByOrderTimestampDesc();
+
+    @Query("SELECT * FROM orders_archive WHERE LOWER(order_number) LIKE LOWER(CONCAT('%', :orderNumber, '%')) ORDER BY order_timestamp DESC")
+    Flux<Order> findArchivedByOrderNumberContainingIgnoreCaseOrderByOrderTimestampDesc(@Param("orderNumber") String orderNumber);
+
+    // Same upsert as SalesRollupRepository.addToRollup
+    @Modifying
+    @Query("""
+            INSERT INTO sales_rollups (sales_date, sku, country, status, order_count, total_quantity, total_revenue)
+            VALUES (:salesDate, :sku, :country, :status, :orderCount, :quantity, :revenue)
+            ON CONFLICT (sales_date, sku, country, status) DO UPDATE SET
+                order_count = sales_rollups.order_count + EXCLUDED.order_count,
+                total_quantity = sales_rollups.total_quantity + EXCLUDED.total_quantity,
+                total_revenue = sales_rollups.total_revenue + EXCLUDED.total_revenue
+            """)
+    Mono<Void> addToSalesRollup(@Param("salesDate") LocalDate salesDate,
+                                @Param("sku") String sku,
+                                @Param("country") String country,
+                                @Param("status") String status,
+                                @Param("orderCount") long orderCount,
+                                @Param("quantity") long quantity,
+                                @Param("revenue") BigDecimal revenue);
+}
@@ -0,0 +1,70 @@
+package com.optivem.eshop.backend.core.repositories;
+
+import com.optivem.eshop.backend.core.entities.OrderStatus;
+import com.optivem.eshop.backend.core.entities.SalesRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface SalesRollupRepository extends JpaRepository<SalesRollup, Long> {
+
+    // Adds the deltas to the rollup row for the group, creating the row if it does not exist yet
+    @Modifying
+    @Query(value = """
+            INSERT INTO sales_rollups (sales_date, sku, country, status, order_count, total_quantity, total_revenue)
+            VALUES (:salesDate, :sku, :country, :status, :orderCount, :quantity, :revenue)
+            ON CONFLICT (sales_date, sku, country, status) DO UPDATE SET
+                order_count = sales_rollups.order_count + EXCLUDED.order_count,
+                total_quantity = sales_rollups.total_quantity + EXCLUDED.total_quantity,
+                total_revenue = sales_rollups.total_revenue + EXCLUDED.total_revenue
+            """, nativeQuery = true)
+    void addToRollup(@Param("salesDate") LocalDate salesDate,
+                     @Param("sku") String sku,
+                     @Param("country") String country,
+                     @Param("status") String status,
+                     @Param("orderCount") long orderCount,
+                     @Param("quantity") long quantity,
+                     @Param("revenue") BigDecimal revenue);
+
+    // Held until the rebuild commits: order transactions wait before their upserts, so none is lost or counted twice
+    @Modifying
+    @Query(value = "LOCK TABLE sales_rollups IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockRollups();
+
+    @Modifying
+    @Query(value = "DELETE FROM sales_rollups", nativeQuery = true)
+    void deleteAllRollups();
+
+    // Recomputes every rollup row from hot and archived orders, like refreshing a materialized view
+    @Modifying
+    @Query(value = """
+            INSERT INTO sales_rollups (sales_date, sku, country, status, order_count, total_quantity, total_revenue)
+            SELECT CAST(order_timestamp AT TIME ZONE 'UTC' AS DATE), sku, country, status,
+                   COUNT(*), SUM(quantity), SUM(total_price)
+            FROM (
+                SELECT order_timestamp, sku, country, status, quantity, total_price FROM orders
+                UNION ALL
+                SELECT order_timestamp, sku, country, status, quantity, total_price FROM orders_archive
+            ) all_orders
+            GROUP BY 1, 2, 3, 4
+            """, nativeQuery = true)
+    void insertRollupsFromOrders();
+
+    // A null filter matches every group
+    @Query("SELECT r FROM SalesRollup r WHERE r.salesDate BETWEEN :from AND :to"
+            + " AND (:sku IS NULL OR r.sku = :sku)"
+            + " AND (:country IS NULL OR r.country = :country)"
+            + " AND (:status IS NULL OR r.status = :status)")
+    List<SalesRollup> findMatching(@Param("from") LocalDate from,
+                                   @Param("to") LocalDate to,
+                                   @Param("sku") String sku,
+                                   @Param("country") String country,
+                                   @Param("status") OrderStatus status);
+}
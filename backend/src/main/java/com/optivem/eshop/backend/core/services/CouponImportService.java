@@ -0,0 +1,361 @@
+package com.optivem.eshop.backend.core.services;
+
+import com.optivem.eshop.backend.core.cache.ActiveCouponIndex;
+import com.optivem.eshop.backend.core.cache.CacheInvalidationBus;
+import com.optivem.eshop.backend.core.dtos.BrowseCouponImportsResponse;
+import com.optivem.eshop.backend.core.dtos.CouponImportResponse;
+import com.optivem.eshop.backend.core.exceptions.ValidationException;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Bulk coupon loading: rows are streamed into a temporary table with PostgreSQL COPY, then moved into coupons by one
+// INSERT ... ON CONFLICT DO NOTHING, which skips existing and repeated codes without a lookup per code.
+// Blocking JDBC, shared by both stacks; ReactiveCouponController calls it on boundedElastic
+@Service
+public class CouponImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(CouponImportService.class);
+
+    private static final String CREATE_STAGING_SQL = "CREATE TEMPORARY TABLE coupon_import ("
+            + "code varchar(255), discount_rate numeric(5,4), valid_from timestamptz, valid_to timestamptz, "
+            + "usage_limit integer) ON COMMIT DROP";
+    private static final String TRUNCATE_STAGING_SQL = "TRUNCATE coupon_import";
+    private static final String COPY_SQL = "COPY coupon_import (code, discount_rate, valid_from, valid_to, usage_limit) "
+            + "FROM STDIN WITH (FORMAT csv)";
+    private static final String MERGE_SQL = "INSERT INTO coupons (code, discount_rate, valid_from, valid_to, usage_limit, used_count) "
+            + "SELECT code, discount_rate, valid_from, valid_to, usage_limit, 0 FROM coupon_import "
+            + "ON CONFLICT (code) DO NOTHING";
+
+    private static final String CSV_HEADER = "code,discountRate,validFrom,validTo,usageLimit";
+    private static final String DIGITS = "0123456789";
+    // No 0/O or 1/I, which are misread when codes are typed in
+    private static final String LETTERS_AND_DIGITS = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789";
+    private static final int DEFAULT_USAGE_LIMIT = 1;
+    private static final int MAX_GENERATION_ROUNDS = 5;
+    private static final int CHUNK_CHARS = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final Map<String, Progress> running = new ConcurrentHashMap<>();
+
+    @Value("${coupons.bulk.max-count:5000000}")
+    private int maxCount;
+
+    @Value("${coupons.bulk.progress-log-rows:100000}")
+    private long progressLogRows;
+
+    public CouponImportService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                               CacheInvalidationBus cacheInvalidationBus) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+    }
+
+    // Usage limit defaults to single-use. Codes that turn out to exist already are replaced by new ones,
+    // so exactly count coupons are created
+    public CouponImportResponse generate(String pattern, int count, BigDecimal discountRate,
+                                         Instant validFrom, Instant validTo, Integer usageLimit) {
+        if (count > maxCount) {
+            throw new ValidationException("count", "Count must be at most " + maxCount);
+        }
+        if (codeSpace(pattern) < 2.0 * count) {
+            throw new ValidationException("pattern", "Pattern must allow at least twice as many codes as requested");
+        }
+        checkValidity(validFrom, validTo);
+
+        var suffix = csvSuffix(discountRate, validFrom, validTo, usageLimit != null ? usageLimit : DEFAULT_USAGE_LIMIT);
+        var random = new SecureRandom();
+
+        return run(staging -> {
+            var remaining = (long) count;
+            for (var round = 0; remaining > 0; round++) {
+                if (round == MAX_GENERATION_ROUNDS) {
+                    throw new ValidationException("pattern", "Could not generate enough unused codes from pattern " + pattern);
+                }
+                var batch = remaining;
+                remaining -= staging.load(writer -> {
+                    for (var i = 0L; i < batch; i++) {
+                        writer.row(quote(generateCode(pattern, random)) + suffix);
+                    }
+                });
+            }
+        });
+    }
+
+    // Rows are code,discountRate,validFrom,validTo,usageLimit with an optional header line; the last three may be
+    // empty, and usage limit then defaults to single-use. Any invalid row rejects the whole import
+    public CouponImportResponse importCsv(InputStream csv) {
+        return run(staging -> staging.load(writer -> {
+            var reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8));
+            var lineNumber = 0L;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || (lineNumber == 1 && line.replace(" ", "").equalsIgnoreCase(CSV_HEADER))) {
+                    continue;
+                }
+                writer.row(toCopyRow(line, lineNumber));
+            }
+        }));
+    }
+
+    public BrowseCouponImportsResponse browseRunningImports() {
+        var result = new BrowseCouponImportsResponse();
+        result.setImports(running.values().stream().map(Progress::toResponse).toList());
+        return result;
+    }
+
+    private CouponImportResponse run(ImportBody body) {
+        var progress = new Progress();
+        running.put(progress.id, progress);
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                try {
+                    body.load(new Staging(connection, progress));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return null;
+            }));
+
+            // Nodes reload their coupon index rather than receive one notification per code
+            cacheInvalidationBus.invalidateAll(ActiveCouponIndex.CACHE_NAME);
+
+            progress.status = "COMPLETED";
+            var response = progress.toResponse();
+            log.info("Coupon import {} completed: {} rows read, {} inserted, {} skipped in {} ms", progress.id,
+                    response.getRowsRead(), response.getInserted(), response.getSkipped(), response.getElapsedMs());
+            return response;
+        } finally {
+            running.remove(progress.id);
+        }
+    }
+
+    private static String toCopyRow(String line, long lineNumber) {
+        var fields = line.split(",", -1);
+        if (fields.length < 2 || fields.length > 5) {
+            throw csvRowException(lineNumber, "expected " + CSV_HEADER);
+        }
+
+        var code = unquote(fields[0]);
+        if (code.isEmpty()) {
+            throw csvRowException(lineNumber, "coupon code must not be blank");
+        }
+
+        try {
+            var discountRate = new BigDecimal(unquote(fields[1]));
+            if (discountRate.compareTo(BigDecimal.ZERO) <= 0 || discountRate.compareTo(BigDecimal.ONE) > 0) {
+                throw csvRowException(lineNumber, "discount rate must be greater than 0.00 and at most 1.00");
+            }
+            var validFrom = fields.length > 2 ? parseInstant(fields[2]) : null;
+            var validTo = fields.length > 3 ? parseInstant(fields[3]) : null;
+            if (validFrom != null && validTo != null && validTo.isBefore(validFrom)) {
+                throw csvRowException(lineNumber, "valid to must be after valid from");
+            }
+            var usageLimit = fields.length > 4 && !unquote(fields[4]).isEmpty()
+                    ? Integer.parseInt(unquote(fields[4]))
+                    : DEFAULT_USAGE_LIMIT;
+            if (usageLimit <= 0) {
+                throw csvRowException(lineNumber, "usage limit must be positive");
+            }
+            return quote(code) + csvSuffix(discountRate, validFrom, validTo, usageLimit);
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw csvRowException(lineNumber, e.getMessage());
+        }
+    }
+
+    private static ValidationException csvRowException(long lineNumber, String reason) {
+        return new ValidationException("csv", "Line " + lineNumber + ": " + reason);
+    }
+
+    private static Instant parseInstant(String field) {
+        var value = unquote(field);
+        return value.isEmpty() ? null : Instant.parse(value);
+    }
+
+    private static String unquote(String field) {
+        var value = field.trim();
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1).replace("\"\"", "\"").trim();
+        }
+        return value;
+    }
+
+    private static String quote(String code) {
+        return '"' + code.replace("\"", "\"\"") + '"';
+    }
+
+    private static String csvSuffix(BigDecimal discountRate, Instant validFrom, Instant validTo, int usageLimit) {
+        return "," + discountRate.toPlainString()
+                + "," + (validFrom != null ? validFrom.toString() : "")
+                + "," + (validTo != null ? validTo.toString() : "")
+                + "," + usageLimit;
+    }
+
+    private static void checkValidity(Instant validFrom, Instant validTo) {
+        if (validFrom != null && validTo != null && validTo.isBefore(validFrom)) {
+            throw new ValidationException("validTo", "Valid to must be after valid from");
+        }
+    }
+
+    static double codeSpace(String pattern) {
+        var space = 1.0;
+        for (var i = 0; i < pattern.length(); i++) {
+            var c = pattern.charAt(i);
+            if (c == '#') {
+                space *= DIGITS.length();
+            } else if (c == '?') {
+                space *= LETTERS_AND_DIGITS.length();
+            }
+        }
+        return space;
+    }
+
+    static String generateCode(String pattern, Random random) {
+        var code = new char[pattern.length()];
+        for (var i = 0; i < code.length; i++) {
+            var c = pattern.charAt(i);
+            if (c == '#') {
+                code[i] = DIGITS.charAt(random.nextInt(DIGITS.length()));
+            } else if (c == '?') {
+                code[i] = LETTERS_AND_DIGITS.charAt(random.nextInt(LETTERS_AND_DIGITS.length()));
+            } else {
+                code[i] = c;
+            }
+        }
+        return new String(code);
+    }
+
+    @FunctionalInterface
+    private interface ImportBody {
+        void load(Staging staging) throws SQLException, IOException;
+    }
+
+    @FunctionalInterface
+    private interface RowSource {
+        void writeTo(CopyWriter writer) throws SQLException, IOException;
+    }
+
+    // The import's temporary table, dropped when the transaction ends
+    private final class Staging {
+
+        private final Connection connection;
+        private final Progress progress;
+        private boolean used;
+
+        Staging(Connection connection, Progress progress) throws SQLException {
+            this.connection = connection;
+            this.progress = progress;
+            try (var statement = connection.createStatement()) {
+                statement.execute(CREATE_STAGING_SQL);
+            }
+        }
+
+        // Copies the rows in, then inserts those whose code is new; returns the number inserted
+        long load(RowSource rows) throws SQLException, IOException {
+            try (var statement = connection.createStatement()) {
+                if (used) {
+                    statement.execute(TRUNCATE_STAGING_SQL);
+                }
+                used = true;
+
+                var copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+                try {
+                    var writer = new CopyWriter(copyIn, progress);
+                    rows.writeTo(writer);
+                    writer.flush();
+                    copyIn.endCopy();
+                } finally {
+                    if (copyIn.isActive()) {
+                        copyIn.cancelCopy();
+                    }
+                }
+
+                long inserted = statement.executeUpdate(MERGE_SQL);
+                progress.inserted.addAndGet(inserted);
+                return inserted;
+            }
+        }
+    }
+
+    // Buffers rows into chunks, so COPY receives large writes rather than one per row
+    private final class CopyWriter {
+
+        private final CopyIn copyIn;
+        private final Progress progress;
+        private final StringBuilder chunk = new StringBuilder(CHUNK_CHARS + 256);
+
+        CopyWriter(CopyIn copyIn, Progress progress) {
+            this.copyIn = copyIn;
+            this.progress = progress;
+        }
+
+        void row(String row) throws SQLException {
+            chunk.append(row).append('\n');
+            if (chunk.length() >= CHUNK_CHARS) {
+                flush();
+            }
+            var rowsRead = progress.rowsRead.incrementAndGet();
+            if (rowsRead % progressLogRows == 0) {
+                log.info("Coupon import {}: {} rows copied", progress.id, rowsRead);
+            }
+        }
+
+        void flush() throws SQLException {
+            if (!chunk.isEmpty()) {
+                var bytes = chunk.toString().getBytes(StandardCharsets.UTF_8);
+                copyIn.writeToCopy(bytes, 0, bytes.length);
+                chunk.setLength(0);
+            }
+        }
+    }
+
+    private static final class Progress {
+
+        private final String id = UUID.randomUUID().toString();
+        private final Instant startedAt = Instant.now();
+        private final long startNanos = System.nanoTime();
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicLong inserted = new AtomicLong();
+        private volatile String status = "RUNNING";
+
+        CouponImportResponse toResponse() {
+            var response = new CouponImportResponse();
+            response.setImportId(id);
+            response.setStatus(status);
+            response.setStartedAt(startedAt);
+            response.setRowsRead(rowsRead.get());
+            response.setInserted(inserted.get());
+            response.setSkipped(rowsRead.get() - inserted.get());
+            response.setElapsedMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+            return response;
+        }
+    }
+}
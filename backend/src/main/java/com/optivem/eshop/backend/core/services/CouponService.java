@@ -1,30 +1,42 @@
 package com.optivem.eshop.backend.core.services;
 
+import com.optivem.eshop.backend.core.cache.ActiveCouponIndex;
 import com.optivem.eshop.backend.core.entities.Coupon;
 import com.optivem.eshop.backend.core.exceptions.ValidationException;
+import com.optivem.eshop.backend.core.jfr.CouponRedeemedEvent;
 import com.optivem.eshop.backend.core.repositories.CouponRepository;
 import com.optivem.eshop.backend.core.services.external.ClockGateway;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
+@Observed
 public class CouponService {
 
     private static final String FIELD_COUPON_CODE = "couponCode";
-    private static final String MSG_COUPON_DOES_NOT_EXIST = "Coupon code %s does not exist";
+    static final String MSG_COUPON_DOES_NOT_EXIST = "Coupon code %s does not exist";
     private static final String MSG_COUPON_NOT_YET_VALID = "Coupon code %s is not yet valid";
     private static final String MSG_COUPON_EXPIRED = "Coupon code %s has expired";
     private static final String MSG_COUPON_USAGE_LIMIT_REACHED = "Coupon code %s has exceeded its usage limit";
-    private static final String MSG_COUPON_CODE_ALREADY_EXISTS = "Coupon code %s already exists";
+    static final String MSG_COUPON_CODE_ALREADY_EXISTS = "Coupon code %s already exists";
+    // Ids per listing query, well below PostgreSQL's limit of 32767 bind parameters
+    private static final int LISTING_BATCH_SIZE = 10_000;
+
     private final CouponRepository couponRepository;
     private final ClockGateway clockGateway;
+    private final ActiveCouponIndex activeCouponIndex;
 
-    public CouponService(CouponRepository couponRepository, ClockGateway clockGateway) {
+    public CouponService(CouponRepository couponRepository, ClockGateway clockGateway,
+                         ActiveCouponIndex activeCouponIndex) {
         this.couponRepository = couponRepository;
         this.clockGateway = clockGateway;
+        this.activeCouponIndex = activeCouponIndex;
     }
 
     public BigDecimal getDiscount(String couponCode) {
@@ -33,40 +45,46 @@ public class CouponService {
             return BigDecimal.ZERO;
         }
 
-        var optionalCoupon = couponRepository.findByCode(couponCode);
-
-        if (optionalCoupon.isEmpty()) {
-            throwCouponValidationException(MSG_COUPON_DOES_NOT_EXIST, couponCode);
+        // Read from the index; the usage count it holds may be stale, so incrementUsageCount has the final say
+        var terms = activeCouponIndex.find(couponCode)
+                .orElseThrow(() -> couponValidationException(MSG_COUPON_DOES_NOT_EXIST, couponCode));
+        checkValidity(terms.validFrom(), terms.validTo(), couponCode, clockGateway.getCurrentTime());
+        if (terms.usedUp()) {
+            throwCouponValidationException(MSG_COUPON_USAGE_LIMIT_REACHED, couponCode);
         }
 
-        var coupon = optionalCoupon.get();
-        var now = clockGateway.getCurrentTime();
+        return terms.discountRate();
+    }
 
+    // Shared with ReactiveCouponService so both stacks apply the same coupon rules
+    static void checkRedeemable(Coupon coupon, String couponCode, Instant now) {
+        checkValidity(coupon.getValidFrom(), coupon.getValidTo(), couponCode, now);
+
+        // Check usage limit only if it's set (not null)
+        if (!hasUsesLeft(coupon)) {
+            throwCouponValidationException(MSG_COUPON_USAGE_LIMIT_REACHED, couponCode);
+        }
+    }
+
+    private static void checkValidity(Instant validFrom, Instant validTo, String couponCode, Instant now) {
         // If validFrom is set and current time is before it, coupon is not yet valid
-        if (coupon.getValidFrom() != null && now.isBefore(coupon.getValidFrom())) {
+        if (validFrom != null && now.isBefore(validFrom)) {
             throwCouponValidationException(MSG_COUPON_NOT_YET_VALID, couponCode);
         }
 
         // If validTo is set and current time is after it, coupon has expired
-        if (coupon.getValidTo() != null && now.isAfter(coupon.getValidTo())) {
+        if (validTo != null && now.isAfter(validTo)) {
             throwCouponValidationException(MSG_COUPON_EXPIRED, couponCode);
         }
-
-        // Check usage limit only if it's set (not null)
-        if (coupon.getUsageLimit() != null && coupon.getUsedCount() >= coupon.getUsageLimit()) {
-            throwCouponValidationException(MSG_COUPON_USAGE_LIMIT_REACHED, couponCode);
-        }
-
-        return coupon.getDiscountRate();
     }
 
+    // The coupon was checked by getDiscount, but another order may have used it up since
     public void incrementUsageCount(String couponCode) {
-        var optionalCoupon = couponRepository.findByCode(couponCode);
-        if (optionalCoupon.isPresent()) {
-            var coupon = optionalCoupon.get();
-            coupon.setUsedCount(coupon.getUsedCount() + 1);
-            couponRepository.save(coupon);
+        if (couponRepository.incrementUsedCount(couponCode) == 0) {
+            activeCouponIndex.usedUp(couponCode);
+            throwCouponValidationException(MSG_COUPON_USAGE_LIMIT_REACHED, couponCode);
         }
+        CouponRedeemedEvent.emit(couponCode);
     }
 
     public Coupon createCoupon(String couponCode, BigDecimal discountRate, Instant validFrom, Instant validTo, Integer usageLimit) {
@@ -76,15 +94,46 @@ public class CouponService {
 
         // If usageLimit is null, set to unlimited (Integer.MAX_VALUE)
         int limit = usageLimit != null ? usageLimit : Integer.MAX_VALUE;
-        var coupon = new Coupon(couponCode, discountRate, validFrom, validTo, limit, 0);
-        return couponRepository.save(coupon);
+        var coupon = couponRepository.save(new Coupon(couponCode, discountRate, validFrom, validTo, limit, 0));
+        activeCouponIndex.changed(coupon);
+        return coupon;
     }
 
+    @Transactional(readOnly = true)
     public List<Coupon> getAllCoupons() {
         return couponRepository.findAll();
     }
 
-    private void throwCouponValidationException(String messageFormat, String couponCode) {
-        throw new ValidationException(FIELD_COUPON_CODE, String.format(messageFormat, couponCode));
+    // The index narrows the listing to coupons in an open validity window, without scanning the coupons table; the
+    // usage limit is checked in SQL, where usage counts are current
+    @Transactional(readOnly = true)
+    public List<Coupon> getActiveCoupons() {
+        var ids = activeCouponIndex.activeIds(clockGateway.getCurrentTime());
+        List<Coupon> coupons = new ArrayList<>();
+        while (ids.hasRemaining()) {
+            List<Long> batch = new ArrayList<>(Math.min(ids.remaining(), LISTING_BATCH_SIZE));
+            while (ids.hasRemaining() && batch.size() < LISTING_BATCH_SIZE) {
+                batch.add(ids.get());
+            }
+            coupons.addAll(couponRepository.findWithUsesLeftByIdIn(batch));
+        }
+        return coupons;
+    }
+
+    static boolean isWithinValidity(Coupon coupon, Instant now) {
+        return (coupon.getValidFrom() == null || !now.isBefore(coupon.getValidFrom()))
+                && (coupon.getValidTo() == null || !now.isAfter(coupon.getValidTo()));
+    }
+
+    static boolean hasUsesLeft(Coupon coupon) {
+        return coupon.getUsageLimit() == null || coupon.getUsedCount() < coupon.getUsageLimit();
+    }
+
+    private static void throwCouponValidationException(String messageFormat, String couponCode) {
+        throw couponValidationException(messageFormat, couponCode);
+    }
+
+    static ValidationException couponValidationException(String messageFormat, String couponCode) {
+        return new ValidationException(FIELD_COUPON_CODE, String.format(messageFormat, couponCode));
     }
 }
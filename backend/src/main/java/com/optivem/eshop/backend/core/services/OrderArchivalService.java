@@ -0,0 +1,72 @@
+package com.optivem.eshop.backend.core.services;
+
+import com.optivem.eshop.backend.core.cache.CacheInvalidationBus;
+import com.optivem.eshop.backend.core.cache.RecentOrdersWindow;
+import com.optivem.eshop.backend.core.repositories.ArchivedOrderRepository;
+import com.optivem.eshop.backend.core.services.external.ClockGateway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+// Scheduled methods are only registered on initialized beans, so opt out of lazy initialization
+@Service
+@Lazy(false)
+public class OrderArchivalService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderArchivalService.class);
+
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final ClockGateway clockGateway;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    @Value("${orders.archival.enabled:false}")
+    private boolean enabled;
+
+    @Value("${orders.archival.retention-days:90}")
+    private int retentionDays;
+
+    @Value("${orders.archival.batch-size:1000}")
+    private int batchSize;
+
+    public OrderArchivalService(ArchivedOrderRepository archivedOrderRepository, ClockGateway clockGateway,
+                                TransactionTemplate transactionTemplate, CacheInvalidationBus cacheInvalidationBus) {
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.clockGateway = clockGateway;
+        this.transactionTemplate = transactionTemplate;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+    }
+
+    @Scheduled(fixedDelayString = "${orders.archival.interval-ms:3600000}",
+            initialDelayString = "${orders.archival.interval-ms:3600000}")
+    public void archiveOrdersOnSchedule() {
+        if (enabled) {
+            archiveOrders();
+        }
+    }
+
+    public int archiveOrders() {
+        var cutoff = clockGateway.getCurrentTime().minus(Duration.ofDays(retentionDays));
+
+        // One transaction per batch keeps locks and WAL bursts small on large backlogs
+        var total = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status -> archivedOrderRepository.archiveOrdersBefore(cutoff, batchSize));
+            total += moved;
+        } while (moved == batchSize);
+
+        if (total > 0) {
+            log.info("Archived {} orders placed before {}", total, cutoff);
+            // Archived orders leave the order history, so no node may keep serving them from memory
+            cacheInvalidationBus.invalidateAll(RecentOrdersWindow.CACHE_NAME);
+        }
+        return total;
+    }
+}
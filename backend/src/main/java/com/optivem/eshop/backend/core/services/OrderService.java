@@ -1,44 +1,82 @@
 package com.optivem.eshop.backend.core.services;
 
+import com.optivem.eshop.backend.core.cache.RecentOrdersWindow;
 import com.optivem.eshop.backend.core.dtos.BrowseOrderHistoryResponse;
 import com.optivem.eshop.backend.core.dtos.ViewOrderDetailsResponse;
 import com.optivem.eshop.backend.core.dtos.PlaceOrderRequest;
 import com.optivem.eshop.backend.core.dtos.PlaceOrderResponse;
+import com.optivem.eshop.backend.core.entities.ArchivedOrder;
 import com.optivem.eshop.backend.core.entities.Order;
 import com.optivem.eshop.backend.core.entities.OrderStatus;
+import com.optivem.eshop.backend.core.events.OrderChangedEvent;
 import com.optivem.eshop.backend.core.exceptions.NotExistValidationException;
 import com.optivem.eshop.backend.core.exceptions.ValidationException;
-import com.optivem.eshop.backend.core.repositories.OrderRepository;
+import com.optivem.eshop.backend.core.jfr.OrderPlacedEvent;
+import com.optivem.eshop.backend.core.repositories.ArchivedOrderRepository;
+import com.optivem.eshop.backend.core.repositories.OrderStore;
 import com.optivem.eshop.backend.core.services.external.ClockGateway;
-import com.optivem.eshop.backend.core.services.external.ErpGateway;
-import com.optivem.eshop.backend.core.services.external.TaxGateway;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.MonthDay;
 import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
 
 @Service
+@Observed
 public class OrderService {
 
     public static final MonthDay CANCELLATION_RESTRICTED_MONTH_DAY = MonthDay.of(12, 31);
     private static final LocalTime CANCELLATION_RESTRICTED_TIME_START = LocalTime.of(22, 0);
     private static final LocalTime CANCELLATION_RESTRICTED_TIME_END = LocalTime.of(22, 30);
+    static final Comparator<Order> NEWEST_FIRST = Comparator.comparing(Order::getOrderTimestamp).reversed();
 
-    private final OrderRepository orderRepository;
-    private final ErpGateway erpGateway;
-    private final TaxGateway taxGateway;
+    private final OrderStore orderStore;
+    private final ArchivedOrderRepository archivedOrderRepository;
     private final ClockGateway clockGateway;
     private final CouponService couponService;
-
-    public OrderService(OrderRepository orderRepository, ErpGateway erpGateway, TaxGateway taxGateway, ClockGateway clockGateway, CouponService couponService) {
-        this.orderRepository = orderRepository;
-        this.erpGateway = erpGateway;
-        this.taxGateway = taxGateway;
+    private final PricingService pricingService;
+    private final PriceComponentService priceComponentService;
+    private final QuoteTokenService quoteTokenService;
+    private final SalesReportService salesReportService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RecentOrdersWindow recentOrdersWindow;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate writeTransaction;
+
+    public OrderService(OrderStore orderStore, ArchivedOrderRepository archivedOrderRepository,
+                        ClockGateway clockGateway, CouponService couponService,
+                        PricingService pricingService, PriceComponentService priceComponentService,
+                        QuoteTokenService quoteTokenService, SalesReportService salesReportService,
+                        ApplicationEventPublisher eventPublisher, RecentOrdersWindow recentOrdersWindow,
+                        PlatformTransactionManager transactionManager) {
+        this.orderStore = orderStore;
+        this.archivedOrderRepository = archivedOrderRepository;
         this.clockGateway = clockGateway;
         this.couponService = couponService;
+        this.pricingService = pricingService;
+        this.priceComponentService = priceComponentService;
+        this.quoteTokenService = quoteTokenService;
+        this.salesReportService = salesReportService;
+        this.eventPublisher = eventPublisher;
+        this.recentOrdersWindow = recentOrdersWindow;
+        // Programmatic, so reads answered from RecentOrdersWindow do not begin a transaction and borrow a connection.
+        // Named like a service method, since ReplicaRoutingDataSource only sends service reads to a replica.
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setName(OrderService.class.getName() + ".read");
+        // The order row, its sales rollup and the coupon usage commit together or not at all
+        this.writeTransaction = new TransactionTemplate(transactionManager);
     }
 
     public PlaceOrderResponse placeOrder(PlaceOrderRequest request) {
@@ -47,16 +85,23 @@ public class OrderService {
         var country = request.getCountry();
         var couponCode = request.getCouponCode();
 
+        var jfrEvent = new OrderPlacedEvent();
+        jfrEvent.start();
+
         var orderTimestamp = clockGateway.getCurrentTime();
-        var unitPrice = getUnitPrice(sku);
+        jfrEvent.clockDone();
+
+        // A valid quote token carries the ERP price and tax rate, so the remote lookups can be skipped
+        var quotedPrices = quoteTokenService.verify(request.getQuoteToken(), sku, quantity, country, couponCode);
+
+        var unitPrice = quotedPrices.isPresent() ? quotedPrices.get().unitPrice() : priceComponentService.getUnitPrice(sku);
+        jfrEvent.erpDone();
         var discountRate = getDiscountRate(couponCode);
-        var taxRate = getTaxRate(country);
+        jfrEvent.couponDone();
+        var taxRate = quotedPrices.isPresent() ? quotedPrices.get().taxRate() : priceComponentService.getTaxRate(country);
 
-        var basePrice = unitPrice.multiply(BigDecimal.valueOf(quantity));
-        var discountAmount = basePrice.multiply(discountRate);
-        var subtotalPrice = basePrice.subtract(discountAmount);
-        var taxAmount = subtotalPrice.multiply(taxRate);
-        var totalPrice = subtotalPrice.add(taxAmount);
+        var price = pricingService.calculate(unitPrice, quantity, discountRate, taxRate);
+        jfrEvent.taxDone();
 
         var appliedCouponCode = discountRate.compareTo(BigDecimal.ZERO) > 0 ? couponCode : null;
 
@@ -64,67 +109,66 @@ public class OrderService {
         var orderNumber = generateOrderNumber();
 
         var order = new Order(orderNumber, orderTimestamp, country,
-                sku, quantity, unitPrice, basePrice,
-                discountRate, discountAmount, subtotalPrice,
-                taxRate, taxAmount, totalPrice, OrderStatus.PLACED,
+                sku, quantity, price.unitPrice(), price.basePrice(),
+                price.discountRate(), price.discountAmount(), price.subtotalPrice(),
+                price.taxRate(), price.taxAmount(), price.totalPrice(), OrderStatus.PLACED,
                 appliedCouponCode);
 
-        orderRepository.save(order);
+        writeTransaction.executeWithoutResult(status -> {
+            salesReportService.recordPlaced(order);
 
-        // Increment coupon usage count if a coupon was applied
-        if (appliedCouponCode != null) {
-            couponService.incrementUsageCount(appliedCouponCode);
-        }
+            // Increment coupon usage count if a coupon was applied; a coupon used up meanwhile rolls the order back
+            if (appliedCouponCode != null) {
+                couponService.incrementUsageCount(appliedCouponCode);
+            }
+
+            // Last, since a sharded order commits on its shard as soon as it is written
+            orderStore.save(order);
+        });
+        // After the commit, so listeners never see an order that was rolled back
+        eventPublisher.publishEvent(new OrderChangedEvent(order, null));
+        jfrEvent.persistenceDone();
+        jfrEvent.placed(orderNumber, sku, country, quantity, appliedCouponCode != null);
 
         var response = new PlaceOrderResponse();
         response.setOrderNumber(orderNumber);
         return response;
     }
 
-    private BigDecimal getUnitPrice(String sku) {
-        var productDetails = erpGateway.getProductDetails(sku);
-        if (productDetails.isEmpty()) {
-            throw new ValidationException("sku", "Product does not exist for SKU: " + sku);
-        }
-
-        return productDetails.get().getPrice();
-    }
-
     private BigDecimal getDiscountRate(String couponCode) {
         return couponService.getDiscount(couponCode);
     }
 
-    private BigDecimal getTaxRate(String country) {
-        var countryDetails = taxGateway.getTaxDetails(country);
-        if (countryDetails.isEmpty()) {
-            throw new ValidationException("country", "Country does not exist: " + country);
+    // Lists the orders table only, unless includeArchived; getOrder finds archived orders either way
+    public BrowseOrderHistoryResponse browseOrderHistory(String orderNumberFilter, Integer limit, boolean includeArchived) {
+        if (limit != null && limit <= 0) {
+            throw new ValidationException("limit", "Limit must be a positive number");
         }
 
-        return countryDetails.get().getTaxRate();
-    }
-
-    public BrowseOrderHistoryResponse browseOrderHistory(String orderNumberFilter) {
-        // Delegate filtering and sorting to database for better performance
-        java.util.List<Order> orders;
-        if (orderNumberFilter == null || orderNumberFilter.trim().isEmpty()) {
-            orders = orderRepository.findAllByOrderByOrderTimestampDesc();
+        var filter = orderNumberFilter == null ? "" : orderNumberFilter.trim();
+        List<Order> orders;
+        if (filter.isEmpty()) {
+            orders = recentOrdersWindow.newest(limit)
+                    .orElseGet(() -> readOnlyTransaction.execute(status -> limit == null
+                            ? orderStore.findAllByOrderByOrderTimestampDesc()
+                            : orderStore.findAllByOrderByOrderTimestampDesc(Limit.of(limit))));
         } else {
-            orders = orderRepository.findByOrderNumberContainingIgnoreCaseOrderByOrderTimestampDesc(orderNumberFilter.trim());
+            // Delegate filtering and sorting to database for better performance
+            orders = readOnlyTransaction.execute(status -> limit == null
+                    ? orderStore.findByOrderNumberContainingIgnoreCaseOrderByOrderTimestampDesc(filter)
+                    : orderStore.findByOrderNumberContainingIgnoreCaseOrderByOrderTimestampDesc(filter, Limit.of(limit)));
+        }
+
+        if (includeArchived) {
+            var archived = readOnlyTransaction.execute(status -> findArchived(filter, limit));
+            orders = Stream.concat(orders.stream(), archived.stream())
+                    .sorted(NEWEST_FIRST)
+                    .limit(limit != null ? limit : Long.MAX_VALUE)
+                    .toList();
         }
         
         var items = orders.stream()
-                .map(order -> {
-                    var response = new BrowseOrderHistoryResponse.BrowseOrderHistoryItemResponse();
-                    response.setOrderNumber(order.getOrderNumber());
-                    response.setOrderTimestamp(order.getOrderTimestamp());
-                    response.setSku(order.getSku());
-                    response.setCountry(order.getCountry());
-                    response.setQuantity(order.getQuantity());
-                    response.setTotalPrice(order.getTotalPrice());
-                    response.setStatus(order.getStatus());
-                    response.setAppliedCouponCode(order.getAppliedCouponCode());
-                    return response;
-                })
+                .map(OrderService::toHistoryItem)
                 .toList();
                 
         var result = new BrowseOrderHistoryResponse();
@@ -132,17 +176,51 @@ public class OrderService {
         return result;
     }
 
+    // The newest limit orders of both tables are among the newest limit orders of each, so neither query reads more
+    private List<Order> findArchived(String filter, Integer limit) {
+        List<ArchivedOrder> archived;
+        if (filter.isEmpty()) {
+            archived = limit == null
+                    ? archivedOrderRepository.findAllByOrderByOrderTimestampDesc()
+                    : archivedOrderRepository.findAllByOrderByOrderTimestampDesc(Limit.of(limit));
+        } else {
+            archived = limit == null
+                    ? archivedOrderRepository.findByOrderNumberContainingIgnoreCaseOrderByOrderTimestampDesc(filter)
+                    : archivedOrderRepository.findByOrderNumberContainingIgnoreCaseOrderByOrderTimestampDesc(filter,
+                            Limit.of(limit));
+        }
+        return archived.stream().map(ArchivedOrder::toOrder).toList();
+    }
+
+    // Shared with ReactiveOrderService so both stacks return identical payloads
+    static BrowseOrderHistoryResponse.BrowseOrderHistoryItemResponse toHistoryItem(Order order) {
+        var response = new BrowseOrderHistoryResponse.BrowseOrderHistoryItemResponse();
+        response.setOrderNumber(order.getOrderNumber());
+        response.setOrderTimestamp(order.getOrderTimestamp());
+        response.setSku(order.getSku());
+        response.setCountry(order.getCountry());
+        response.setQuantity(order.getQuantity());
+        response.setTotalPrice(order.getTotalPrice());
+        response.setStatus(order.getStatus());
+        response.setAppliedCouponCode(order.getAppliedCouponCode());
+        return response;
+    }
+
     public ViewOrderDetailsResponse getOrder(String orderNumber) {
-        var optionalOrder = orderRepository.findByOrderNumber(orderNumber);
+        var optionalOrder = recentOrdersWindow.find(orderNumber)
+                .or(() -> readOnlyTransaction.execute(status -> orderStore.findByOrderNumber(orderNumber)
+                        .or(() -> archivedOrderRepository.findByOrderNumber(orderNumber).map(ArchivedOrder::toOrder))));
 
         if (optionalOrder.isEmpty()) {
             throw new NotExistValidationException("Order " + orderNumber + " does not exist.");
         }
 
-        var order = optionalOrder.get();
+        return toDetailsResponse(optionalOrder.get());
+    }
 
+    static ViewOrderDetailsResponse toDetailsResponse(Order order) {
         var response = new ViewOrderDetailsResponse();
-        response.setOrderNumber(orderNumber);
+        response.setOrderNumber(order.getOrderNumber());
         response.setOrderTimestamp(order.getOrderTimestamp());
         response.setSku(order.getSku());
         response.setQuantity(order.getQuantity());
@@ -166,9 +244,24 @@ public class OrderService {
             throw new ValidationException("Order number must not be empty");
         }
 
-        var optionalOrder = orderRepository.findByOrderNumber(orderNumber);
+        // Read before the transaction, so the clock call does not hold a connection
+        var currentTime = clockGateway.getCurrentTime();
+        var event = writeTransaction.execute(status -> cancel(orderNumber, currentTime));
+        eventPublisher.publishEvent(event);
+    }
+
+    private OrderChangedEvent cancel(String orderNumber, Instant currentTime) {
+        var optionalOrder = orderStore.findByOrderNumber(orderNumber);
 
         if (optionalOrder.isEmpty()) {
+            // Archived orders are delivered or cancelled and are read-only
+            var archivedOrder = archivedOrderRepository.findByOrderNumber(orderNumber);
+            if (archivedOrder.isPresent() && archivedOrder.get().getStatus() == OrderStatus.CANCELLED) {
+                throw new ValidationException("Order has already been cancelled");
+            }
+            if (archivedOrder.isPresent()) {
+                throw new ValidationException("Order has been archived and can no longer be cancelled");
+            }
             throw new NotExistValidationException("Order " + orderNumber + " does not exist.");
         }
 
@@ -178,20 +271,13 @@ public class OrderService {
             throw new ValidationException("Order has already been cancelled");
         }
 
-        var now = LocalDateTime.ofInstant(clockGateway.getCurrentTime(), ZoneId.of("UTC"));
-        var currentMonthDay = MonthDay.from(now);
-
-        if (currentMonthDay.equals(CANCELLATION_RESTRICTED_MONTH_DAY)) {
-            var currentTime = now.toLocalTime();
-
-            if (!currentTime.isBefore(CANCELLATION_RESTRICTED_TIME_START) &&
-                !currentTime.isAfter(CANCELLATION_RESTRICTED_TIME_END)) {
-                throw new ValidationException("Order cancellation is not allowed on December 31st between 22:00 and 23:00");
-            }
-        }
+        checkCancellationAllowed(currentTime);
 
+        var previousStatus = order.getStatus();
         order.setStatus(OrderStatus.CANCELLED);
-        orderRepository.save(order);
+        orderStore.save(order);
+        salesReportService.recordStatusChange(order, previousStatus);
+        return new OrderChangedEvent(order, previousStatus);
     }
 
     public void deliverOrder(String orderNumber) {
@@ -199,9 +285,18 @@ public class OrderService {
             throw new ValidationException("Order number must not be empty");
         }
 
-        var optionalOrder = orderRepository.findByOrderNumber(orderNumber);
+        var event = writeTransaction.execute(status -> deliver(orderNumber));
+        eventPublisher.publishEvent(event);
+    }
+
+    private OrderChangedEvent deliver(String orderNumber) {
+        var optionalOrder = orderStore.findByOrderNumber(orderNumber);
 
         if (optionalOrder.isEmpty()) {
+            // Archived orders are never in PLACED status
+            if (archivedOrderRepository.existsByOrderNumber(orderNumber)) {
+                throw new ValidationException("Order cannot be delivered in its current status");
+            }
             throw new NotExistValidationException("Order " + orderNumber + " does not exist.");
         }
 
@@ -212,10 +307,26 @@ public class OrderService {
         }
 
         order.setStatus(OrderStatus.DELIVERED);
-        orderRepository.save(order);
+        orderStore.save(order);
+        salesReportService.recordStatusChange(order, OrderStatus.PLACED);
+        return new OrderChangedEvent(order, OrderStatus.PLACED);
+    }
+
+    static void checkCancellationAllowed(Instant currentInstant) {
+        var now = LocalDateTime.ofInstant(currentInstant, ZoneId.of("UTC"));
+        var currentMonthDay = MonthDay.from(now);
+
+        if (currentMonthDay.equals(CANCELLATION_RESTRICTED_MONTH_DAY)) {
+            var currentTime = now.toLocalTime();
+
+            if (!currentTime.isBefore(CANCELLATION_RESTRICTED_TIME_START) &&
+                !currentTime.isAfter(CANCELLATION_RESTRICTED_TIME_END)) {
+                throw new ValidationException("Order cancellation is not allowed on December 31st between 22:00 and 23:00");
+            }
+        }
     }
 
-    private String generateOrderNumber() {
+    static String generateOrderNumber() {
         var uuid = java.util.UUID.randomUUID().toString().toUpperCase();
         return "ORD-" + uuid;
     }
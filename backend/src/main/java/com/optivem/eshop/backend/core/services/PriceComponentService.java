@@ -0,0 +1,109 @@
+package com.optivem.eshop.backend.core.services;
+
+import com.optivem.eshop.backend.core.cache.CacheInvalidationBus;
+import com.optivem.eshop.backend.core.cache.ExpiringCache;
+import com.optivem.eshop.backend.core.dtos.external.ProductDetailsResponse;
+import com.optivem.eshop.backend.core.dtos.external.TaxDetailsResponse;
+import com.optivem.eshop.backend.core.exceptions.ValidationException;
+import com.optivem.eshop.backend.core.services.external.ErpGateway;
+import com.optivem.eshop.backend.core.services.external.TaxGateway;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+@Service
+@Observed
+public class PriceComponentService {
+
+    private static final int MAX_CACHE_SIZE = 10_000;
+
+    private final ErpGateway erpGateway;
+    private final TaxGateway taxGateway;
+    private final ExpiringCache<String, Optional<ProductDetailsResponse>> productCache;
+    private final ExpiringCache<String, Optional<TaxDetailsResponse>> taxCache;
+
+    public PriceComponentService(ErpGateway erpGateway, TaxGateway taxGateway,
+                                 CacheInvalidationBus cacheInvalidationBus,
+                                 @Value("${quote.price-cache-ttl-seconds:60}") long priceCacheTtlSeconds) {
+        this.erpGateway = erpGateway;
+        this.taxGateway = taxGateway;
+        this.productCache = new ExpiringCache<>(Duration.ofSeconds(priceCacheTtlSeconds), MAX_CACHE_SIZE);
+        this.taxCache = new ExpiringCache<>(Duration.ofSeconds(priceCacheTtlSeconds), MAX_CACHE_SIZE);
+        // Registered so a listener reconnect also drops prices that may have changed while it was away
+        cacheInvalidationBus.register("products", productCache);
+        cacheInvalidationBus.register("tax-rates", taxCache);
+    }
+
+    public BigDecimal getUnitPrice(String sku) {
+        return toUnitPrice(sku, erpGateway.getProductDetails(sku));
+    }
+
+    public BigDecimal getCachedUnitPrice(String sku) {
+        return toUnitPrice(sku, productCache.get(sku, erpGateway::getProductDetails));
+    }
+
+    public BigDecimal getTaxRate(String country) {
+        return toTaxRate(country, taxGateway.getTaxDetails(country));
+    }
+
+    public BigDecimal getCachedTaxRate(String country) {
+        return toTaxRate(country, taxCache.get(country, taxGateway::getTaxDetails));
+    }
+
+    public CompletableFuture<BigDecimal> getUnitPriceAsync(String sku) {
+        return erpGateway.getProductDetailsAsync(sku)
+                .thenApply(productDetails -> toUnitPrice(sku, productDetails));
+    }
+
+    public CompletableFuture<BigDecimal> getCachedUnitPriceAsync(String sku) {
+        var cached = productCache.getIfPresent(sku);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached).thenApply(productDetails -> toUnitPrice(sku, productDetails));
+        }
+
+        return erpGateway.getProductDetailsAsync(sku)
+                .thenApply(productDetails -> {
+                    productCache.put(sku, productDetails);
+                    return toUnitPrice(sku, productDetails);
+                });
+    }
+
+    public CompletableFuture<BigDecimal> getTaxRateAsync(String country) {
+        return taxGateway.getTaxDetailsAsync(country)
+                .thenApply(countryDetails -> toTaxRate(country, countryDetails));
+    }
+
+    public CompletableFuture<BigDecimal> getCachedTaxRateAsync(String country) {
+        var cached = taxCache.getIfPresent(country);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached).thenApply(countryDetails -> toTaxRate(country, countryDetails));
+        }
+
+        return taxGateway.getTaxDetailsAsync(country)
+                .thenApply(countryDetails -> {
+                    taxCache.put(country, countryDetails);
+                    return toTaxRate(country, countryDetails);
+                });
+    }
+
+    private BigDecimal toUnitPrice(String sku, Optional<ProductDetailsResponse> productDetails) {
+        if (productDetails.isEmpty()) {
+            throw new ValidationException("sku", "Product does not exist for SKU: " + sku);
+        }
+
+        return productDetails.get().getPrice();
+    }
+
+    private BigDecimal toTaxRate(String country, Optional<TaxDetailsResponse> countryDetails) {
+        if (countryDetails.isEmpty()) {
+            throw new ValidationException("country", "Country does not exist: " + country);
+        }
+
+        return countryDetails.get().getTaxRate();
+    }
+}
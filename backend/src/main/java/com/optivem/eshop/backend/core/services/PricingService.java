@@ -0,0 +1,85 @@
+package com.optivem.eshop.backend.core.services;
+
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+@Service
+public class PricingService {
+
+    // Must match the precision/scale of the corresponding columns in Order
+    public static final int MONEY_SCALE = 2;
+    public static final int RATE_SCALE = 4;
+    public static final RoundingMode ROUNDING_MODE = RoundingMode.HALF_UP;
+
+    private static final long RATE_DIVISOR = 10_000L;
+
+    public PriceBreakdown calculate(BigDecimal unitPrice, int quantity, BigDecimal discountRate, BigDecimal taxRate) {
+        // Round the inputs once so that every derived amount is computed from the values we persist
+        var roundedUnitPrice = unitPrice.setScale(MONEY_SCALE, ROUNDING_MODE);
+        var roundedDiscountRate = discountRate.setScale(RATE_SCALE, ROUNDING_MODE);
+        var roundedTaxRate = taxRate.setScale(RATE_SCALE, ROUNDING_MODE);
+
+        try {
+            return calculateInMinorUnits(roundedUnitPrice, quantity, roundedDiscountRate, roundedTaxRate);
+        } catch (ArithmeticException e) {
+            // Values too large for long arithmetic, fall back to BigDecimal
+            return calculateInBigDecimal(roundedUnitPrice, quantity, roundedDiscountRate, roundedTaxRate);
+        }
+    }
+
+    // Package-private so the tests can check both paths agree
+    PriceBreakdown calculateInMinorUnits(BigDecimal unitPrice, int quantity, BigDecimal discountRate, BigDecimal taxRate) {
+        var unitPriceCents = unitPrice.unscaledValue().longValueExact();
+        var discountRateUnits = discountRate.unscaledValue().longValueExact();
+        var taxRateUnits = taxRate.unscaledValue().longValueExact();
+
+        var baseCents = Math.multiplyExact(unitPriceCents, quantity);
+        var discountCents = divideHalfUp(Math.multiplyExact(baseCents, discountRateUnits), RATE_DIVISOR);
+        var subtotalCents = Math.subtractExact(baseCents, discountCents);
+        var taxCents = divideHalfUp(Math.multiplyExact(subtotalCents, taxRateUnits), RATE_DIVISOR);
+        var totalCents = Math.addExact(subtotalCents, taxCents);
+
+        return new PriceBreakdown(
+                unitPrice,
+                BigDecimal.valueOf(baseCents, MONEY_SCALE),
+                discountRate,
+                BigDecimal.valueOf(discountCents, MONEY_SCALE),
+                BigDecimal.valueOf(subtotalCents, MONEY_SCALE),
+                taxRate,
+                BigDecimal.valueOf(taxCents, MONEY_SCALE),
+                BigDecimal.valueOf(totalCents, MONEY_SCALE));
+    }
+
+    PriceBreakdown calculateInBigDecimal(BigDecimal unitPrice, int quantity, BigDecimal discountRate, BigDecimal taxRate) {
+        var basePrice = unitPrice.multiply(BigDecimal.valueOf(quantity));
+        var discountAmount = basePrice.multiply(discountRate).setScale(MONEY_SCALE, ROUNDING_MODE);
+        var subtotalPrice = basePrice.subtract(discountAmount);
+        var taxAmount = subtotalPrice.multiply(taxRate).setScale(MONEY_SCALE, ROUNDING_MODE);
+        var totalPrice = subtotalPrice.add(taxAmount);
+
+        return new PriceBreakdown(unitPrice, basePrice, discountRate, discountAmount,
+                subtotalPrice, taxRate, taxAmount, totalPrice);
+    }
+
+    // Same result as BigDecimal.divide(divisor, 0, HALF_UP) for a positive divisor
+    private static long divideHalfUp(long dividend, long divisor) {
+        var quotient = dividend / divisor;
+        var remainder = dividend % divisor;
+        if (Math.abs(remainder) * 2 >= divisor) {
+            quotient += Long.signum(dividend);
+        }
+        return quotient;
+    }
+
+    public record PriceBreakdown(BigDecimal unitPrice,
+                                 BigDecimal basePrice,
+                                 BigDecimal discountRate,
+                                 BigDecimal discountAmount,
+                                 BigDecimal subtotalPrice,
+                                 BigDecimal taxRate,
+                                 BigDecimal taxAmount,
+                                 BigDecimal totalPrice) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.optivem.eshop.backend.core.services;
+
+import com.optivem.eshop.backend.core.dtos.QuoteOrderRequest;
+import com.optivem.eshop.backend.core.dtos.QuoteOrderResponse;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+
+@Service
+public class QuoteService {
+
+    private final PriceComponentService priceComponentService;
+    private final CouponService couponService;
+    private final PricingService pricingService;
+    private final QuoteTokenService quoteTokenService;
+
+    public QuoteService(PriceComponentService priceComponentService, CouponService couponService,
+                        PricingService pricingService, QuoteTokenService quoteTokenService) {
+        this.priceComponentService = priceComponentService;
+        this.couponService = couponService;
+        this.pricingService = pricingService;
+        this.quoteTokenService = quoteTokenService;
+    }
+
+    public QuoteOrderResponse quoteOrder(QuoteOrderRequest request) {
+        var sku = request.getSku();
+        var quantity = request.getQuantity();
+        var country = request.getCountry();
+        var couponCode = request.getCouponCode();
+
+        // Same pipeline as placeOrder, but served from cached ERP and tax lookups and never persisted
+        var unitPrice = priceComponentService.getCachedUnitPrice(sku);
+        var discountRate = couponService.getDiscount(couponCode);
+        var taxRate = priceComponentService.getCachedTaxRate(country);
+
+        var price = pricingService.calculate(unitPrice, quantity, discountRate, taxRate);
+        var appliedCouponCode = discountRate.compareTo(BigDecimal.ZERO) > 0 ? couponCode : null;
+        var quoteToken = quoteTokenService.issue(sku, quantity, country, couponCode, price.unitPrice(), price.taxRate());
+
+        return toResponse(request, price, appliedCouponCode, quoteToken);
+    }
+
+    // Shared with ReactiveQuoteService so both stacks return identical payloads
+    static QuoteOrderResponse toResponse(QuoteOrderRequest request, PricingService.PriceBreakdown price,
+                                         String appliedCouponCode, QuoteTokenService.QuoteToken quoteToken) {
+        var response = new QuoteOrderResponse();
+        response.setSku(request.getSku());
+        response.setQuantity(request.getQuantity());
+        response.setCountry(request.getCountry());
+        response.setUnitPrice(price.unitPrice());
+        response.setBasePrice(price.basePrice());
+        response.setDiscountRate(price.discountRate());
+        response.setDiscountAmount(price.discountAmount());
+        response.setSubtotalPrice(price.subtotalPrice());
+        response.setTaxRate(price.taxRate());
+        response.setTaxAmount(price.taxAmount());
+        response.setTotalPrice(price.totalPrice());
+        response.setAppliedCouponCode(appliedCouponCode);
+        response.setQuoteToken(quoteToken.token());
+        response.setExpiresAt(quoteToken.expiresAt());
+        return response;
+    }
+}
@@ -0,0 +1,146 @@
+package com.optivem.eshop.backend.core.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigDecimal;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.Optional;
+
+@Service
+public class QuoteTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(QuoteTokenService.class);
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String FIELD_SEPARATOR = "|";
+    private static final int FIELD_COUNT = 7;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec signingKey;
+    private final Duration ttl;
+
+    public QuoteTokenService(@Value("${quote.token-secret:}") String secret,
+                             @Value("${quote.token-ttl-seconds:300}") long ttlSeconds) {
+        this.signingKey = new SecretKeySpec(resolveSecret(secret), HMAC_ALGORITHM);
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+    }
+
+    public QuoteToken issue(String sku, int quantity, String country, String couponCode,
+                            BigDecimal unitPrice, BigDecimal taxRate) {
+        var expiresAt = Instant.now().plus(ttl);
+        var payload = String.join(FIELD_SEPARATOR,
+                encodeField(sku),
+                Integer.toString(quantity),
+                encodeField(country),
+                encodeField(normalizeCouponCode(couponCode)),
+                unitPrice.toPlainString(),
+                taxRate.toPlainString(),
+                Long.toString(expiresAt.toEpochMilli()));
+
+        var encodedPayload = ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        var token = encodedPayload + "." + ENCODER.encodeToString(sign(encodedPayload));
+        return new QuoteToken(token, expiresAt);
+    }
+
+    // Returns the quoted prices only if the token is authentic, unexpired and was issued for this exact order
+    public Optional<QuotedPrices> verify(String token, String sku, int quantity, String country, String couponCode) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+
+        try {
+            var separatorIndex = token.indexOf('.');
+            if (separatorIndex < 0) {
+                return Optional.empty();
+            }
+
+            var encodedPayload = token.substring(0, separatorIndex);
+            var signature = DECODER.decode(token.substring(separatorIndex + 1));
+            if (!MessageDigest.isEqual(signature, sign(encodedPayload))) {
+                log.debug("Rejected quote token with invalid signature");
+                return Optional.empty();
+            }
+
+            var fields = new String(DECODER.decode(encodedPayload), StandardCharsets.UTF_8).split("\\|", -1);
+            if (fields.length != FIELD_COUNT) {
+                return Optional.empty();
+            }
+
+            var expiresAt = Instant.ofEpochMilli(Long.parseLong(fields[6]));
+            if (!Instant.now().isBefore(expiresAt)) {
+                log.debug("Rejected expired quote token");
+                return Optional.empty();
+            }
+
+            var matchesOrder = Objects.equals(decodeField(fields[0]), sku)
+                    && Integer.parseInt(fields[1]) == quantity
+                    && Objects.equals(decodeField(fields[2]), country)
+                    && Objects.equals(decodeField(fields[3]), normalizeCouponCode(couponCode));
+            if (!matchesOrder) {
+                log.debug("Rejected quote token issued for a different order");
+                return Optional.empty();
+            }
+
+            return Optional.of(new QuotedPrices(new BigDecimal(fields[4]), new BigDecimal(fields[5])));
+        } catch (IllegalArgumentException e) {
+            // Covers malformed Base64 and numbers
+            log.debug("Rejected malformed quote token: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(String encodedPayload) {
+        try {
+            var mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(signingKey);
+            return mac.doFinal(encodedPayload.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to sign quote token", e);
+        }
+    }
+
+    private static byte[] resolveSecret(String secret) {
+        if (secret != null && !secret.isBlank()) {
+            return secret.getBytes(StandardCharsets.UTF_8);
+        }
+
+        // Without a configured secret, tokens are only valid on the node that issued them
+        log.warn("No quote.token-secret configured, using a random per-instance key");
+        var randomKey = new byte[32];
+        new SecureRandom().nextBytes(randomKey);
+        return randomKey;
+    }
+
+    private static String normalizeCouponCode(String couponCode) {
+        return couponCode == null || couponCode.trim().isEmpty() ? "" : couponCode;
+    }
+
+    private static String encodeField(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String decodeField(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+
+    public record QuoteToken(String token, Instant expiresAt) {
+    }
+
+    public record QuotedPrices(BigDecimal unitPrice, BigDecimal taxRate) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.optivem.eshop.backend.core.services;
+
+import com.optivem.eshop.backend.core.cache.ActiveCouponIndex;
+import com.optivem.eshop.backend.core.cache.CacheInvalidationBus;
+import com.optivem.eshop.backend.core.entities.Coupon;
+import com.optivem.eshop.backend.core.jfr.CouponRedeemedEvent;
+import com.optivem.eshop.backend.core.repositories.ReactiveCouponRepository;
+import com.optivem.eshop.backend.core.services.external.ClockGateway;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// Non-blocking counterpart of CouponService for the reactive profile
+@Service
+@Profile("reactive")
+public class ReactiveCouponService {
+
+    private final ReactiveCouponRepository couponRepository;
+    private final ClockGateway clockGateway;
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    public ReactiveCouponService(ReactiveCouponRepository couponRepository, ClockGateway clockGateway,
+                                 CacheInvalidationBus cacheInvalidationBus) {
+        this.couponRepository = couponRepository;
+        this.clockGateway = clockGateway;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+    }
+
+    public Mono<BigDecimal> getDiscount(String couponCode) {
+        // No coupon provided, no discount
+        if (couponCode == null || couponCode.trim().isEmpty()) {
+            return Mono.just(BigDecimal.ZERO);
+        }
+
+        return couponRepository.findByCode(couponCode)
+                .switchIfEmpty(Mono.error(() -> CouponService.couponValidationException(
+                        CouponService.MSG_COUPON_DOES_NOT_EXIST, couponCode)))
+                .flatMap(coupon -> Mono.fromFuture(clockGateway::getCurrentTimeAsync)
+                        .map(now -> {
+                            CouponService.checkRedeemable(coupon, couponCode, now);
+                            return coupon.getDiscountRate();
+                        }));
+    }
+
+    // Usage counts are not cached on any node, so there is nothing to invalidate
+    public Mono<Void> incrementUsageCount(String couponCode) {
+        return couponRepository.incrementUsedCount(couponCode)
+                .then(Mono.fromRunnable(() -> CouponRedeemedEvent.emit(couponCode)));
+    }
+
+    public Mono<Coupon> createCoupon(String couponCode, BigDecimal discountRate, Instant validFrom, Instant validTo, Integer usageLimit) {
+        return couponRepository.findByCode(couponCode)
+                .flatMap(existing -> Mono.<Coupon>error(CouponService.couponValidationException(
+                        CouponService.MSG_COUPON_CODE_ALREADY_EXISTS, couponCode)))
+                .switchIfEmpty(Mono.defer(() -> {
+                    // If usageLimit is null, set to unlimited (Integer.MAX_VALUE)
+                    int limit = usageLimit != null ? usageLimit : Integer.MAX_VALUE;
+                    return couponRepository.save(new Coupon(couponCode, discountRate, validFrom, validTo, limit, 0));
+                }))
+                .doOnSuccess(coupon -> cacheInvalidationBus.invalidate(ActiveCouponIndex.CACHE_NAME, couponCode));
+    }
+
+    public Flux<Coupon> getAllCoupons() {
+        return couponRepository.findAll();
+    }
+
+    // ActiveCouponIndex loads through JPA, so the reactive stack filters on the current time instead
+    public Flux<Coupon> getActiveCoupons() {
+        return Mono.fromFuture(clockGateway::getCurrentTimeAsync)
+                .flatMapMany(now -> couponRepository.findAll()
+                        .filter(coupon -> CouponService.isWithinValidity(coupon, now) && CouponService.hasUsesLeft(coupon)));
+    }
+}
@@ -0,0 +1,206 @@
+package com.optivem.eshop.backend.core.services;
+
+import com.optivem.eshop.backend.core.dtos.BrowseOrderHistoryResponse;
+import com.optivem.eshop.backend.core.dtos.PlaceOrderRequest;
+import com.optivem.eshop.backend.core.dtos.PlaceOrderResponse;
+import com.optivem.eshop.backend.core.dtos.ViewOrderDetailsResponse;
+import com.optivem.eshop.backend.core.entities.Order;
+import com.optivem.eshop.backend.core.entities.OrderStatus;
+import com.optivem.eshop.backend.core.events.OrderChangedEvent;
+import com.optivem.eshop.backend.core.exceptions.NotExistValidationException;
+import com.optivem.eshop.backend.core.exceptions.ValidationException;
+import com.optivem.eshop.backend.core.repositories.ReactiveOrderRepository;
+import com.optivem.eshop.backend.core.services.external.ClockGateway;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+
+// Non-blocking counterpart of OrderService for the reactive profile; business rules are shared with OrderService
+@Service
+@Profile("reactive")
+public class ReactiveOrderService {
+
+    private final ReactiveOrderRepository orderRepository;
+    private final ClockGateway clockGateway;
+    private final ReactiveCouponService couponService;
+    private final PricingService pricingService;
+    private final PriceComponentService priceComponentService;
+    private final QuoteTokenService quoteTokenService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionalOperator transactionalOperator;
+
+    public ReactiveOrderService(ReactiveOrderRepository orderRepository, ClockGateway clockGateway,
+                                ReactiveCouponService couponService, PricingService pricingService,
+                                PriceComponentService priceComponentService, QuoteTokenService quoteTokenService,
+                                ApplicationEventPublisher eventPublisher, TransactionalOperator transactionalOperator) {
+        this.orderRepository = orderRepository;
+        this.clockGateway = clockGateway;
+        this.couponService = couponService;
+        this.pricingService = pricingService;
+        this.priceComponentService = priceComponentService;
+        this.quoteTokenService = quoteTokenService;
+        this.eventPublisher = eventPublisher;
+        this.transactionalOperator = transactionalOperator;
+    }
+
+    public Mono<PlaceOrderResponse> placeOrder(PlaceOrderRequest request) {
+        var sku = request.getSku();
+        var quantity = request.getQuantity();
+        var country = request.getCountry();
+        var couponCode = request.getCouponCode();
+
+        return Mono.defer(() -> {
+            // A valid quote token carries the ERP price and tax rate, so the remote lookups can be skipped
+            var quotedPrices = quoteTokenService.verify(request.getQuoteToken(), sku, quantity, country, couponCode);
+
+            // Remote lookups start together and are awaited in OrderService's order, so validation errors match
+            var orderTimestampFuture = clockGateway.getCurrentTimeAsync();
+            var unitPriceFuture = quotedPrices.isPresent()
+                    ? CompletableFuture.completedFuture(quotedPrices.get().unitPrice())
+                    : priceComponentService.getUnitPriceAsync(sku);
+            var taxRateFuture = quotedPrices.isPresent()
+                    ? CompletableFuture.completedFuture(quotedPrices.get().taxRate())
+                    : priceComponentService.getTaxRateAsync(country);
+
+            return Mono.fromFuture(orderTimestampFuture)
+                    .flatMap(orderTimestamp -> Mono.fromFuture(unitPriceFuture)
+                            .flatMap(unitPrice -> couponService.getDiscount(couponCode)
+                                    .flatMap(discountRate -> Mono.fromFuture(taxRateFuture)
+                                            .map(taxRate -> {
+                                                var price = pricingService.calculate(unitPrice, quantity, discountRate, taxRate);
+                                                var appliedCouponCode = discountRate.compareTo(BigDecimal.ZERO) > 0 ? couponCode : null;
+
+                                                return new Order(OrderService.generateOrderNumber(), orderTimestamp, country,
+                                                        sku, quantity, price.unitPrice(), price.basePrice(),
+                                                        price.discountRate(), price.discountAmount(), price.subtotalPrice(),
+                                                        price.taxRate(), price.taxAmount(), price.totalPrice(), OrderStatus.PLACED,
+                                                        appliedCouponCode);
+                                            }))));
+        })
+                // The order row, its sales rollup and the coupon usage commit together or not at all
+                .flatMap(order -> orderRepository.save(order)
+                        .flatMap(saved -> addToSalesRollup(saved, saved.getStatus(), 1)
+                                // Increment coupon usage count if a coupon was applied
+                                .then(saved.getAppliedCouponCode() != null
+                                        ? couponService.incrementUsageCount(saved.getAppliedCouponCode())
+                                        : Mono.<Void>empty())
+                                .thenReturn(saved))
+                        .as(transactionalOperator::transactional))
+                // After the commit, so listeners never see an order that was rolled back
+                .doOnNext(order -> eventPublisher.publishEvent(new OrderChangedEvent(order, null)))
+                .map(order -> {
+                    var response = new PlaceOrderResponse();
+                    response.setOrderNumber(order.getOrderNumber());
+                    return response;
+                });
+    }
+
+    public Mono<BrowseOrderHistoryResponse> browseOrderHistory(String orderNumberFilter, Integer limit,
+                                                               boolean includeArchived) {
+        if (limit != null && limit <= 0) {
+            return Mono.error(new ValidationException("limit", "Limit must be a positive number"));
+        }
+
+        var filter = orderNumberFilter == null ? "" : orderNumberFilter.trim();
+        var orders = filter.isEmpty()
+                ? orderRepository.findAllByOrderByOrderTimestampDesc()
+                : orderRepository.findByOrderNumberContainingIgnoreCaseOrderByOrderTimestampDesc(filter);
+        if (includeArchived) {
+            // Both queries are newest first, so merging them keeps the order and only reads as far as needed
+            orders = Flux.mergeComparing(OrderService.NEWEST_FIRST, orders, filter.isEmpty()
+                    ? orderRepository.findAllArchivedByOrderByOrderTimestampDesc()
+                    : orderRepository.findArchivedByOrderNumberContainingIgnoreCaseOrderByOrderTimestampDesc(filter));
+        }
+
+        // Cancelling the Flux stops the R2DBC query once enough rows have arrived
+        return (limit == null ? orders : orders.take(limit))
+                .map(OrderService::toHistoryItem)
+                .collectList()
+                .map(items -> {
+                    var result = new BrowseOrderHistoryResponse();
+                    result.setOrders(items);
+                    return result;
+                });
+    }
+
+    public Mono<ViewOrderDetailsResponse> getOrder(String orderNumber) {
+        return orderRepository.findByOrderNumber(orderNumber)
+                .switchIfEmpty(Mono.defer(() -> orderRepository.findArchivedByOrderNumber(orderNumber)))
+                .switchIfEmpty(Mono.error(() -> new NotExistValidationException("Order " + orderNumber + " does not exist.")))
+                .map(OrderService::toDetailsResponse);
+    }
+
+    public Mono<Void> cancelOrder(String orderNumber) {
+        if (orderNumber == null || orderNumber.trim().isEmpty()) {
+            return Mono.error(new ValidationException("Order number must not be empty"));
+        }
+
+        return orderRepository.findByOrderNumber(orderNumber)
+                .switchIfEmpty(Mono.defer(() -> orderRepository.findArchivedByOrderNumber(orderNumber)
+                        // Archived orders are delivered or cancelled and are read-only
+                        .flatMap(archivedOrder -> Mono.<Order>error(archivedOrder.getStatus() == OrderStatus.CANCELLED
+                                ? new ValidationException("Order has already been cancelled")
+                                : new ValidationException("Order has been archived and can no longer be cancelled")))
+                        .switchIfEmpty(Mono.error(() -> new NotExistValidationException("Order " + orderNumber + " does not exist.")))))
+                .flatMap(order -> {
+                    if (order.getStatus() == OrderStatus.CANCELLED) {
+                        return Mono.<Void>error(new ValidationException("Order has already been cancelled"));
+                    }
+
+                    return Mono.fromFuture(clockGateway::getCurrentTimeAsync)
+                            .flatMap(now -> {
+                                OrderService.checkCancellationAllowed(now);
+                                return changeStatus(order, OrderStatus.CANCELLED);
+                            });
+                });
+    }
+
+    public Mono<Void> deliverOrder(String orderNumber) {
+        if (orderNumber == null || orderNumber.trim().isEmpty()) {
+            return Mono.error(new ValidationException("Order number must not be empty"));
+        }
+
+        return orderRepository.findByOrderNumber(orderNumber)
+                .switchIfEmpty(Mono.defer(() -> orderRepository.findArchivedByOrderNumber(orderNumber)
+                        // Archived orders are never in PLACED status
+                        .flatMap(archivedOrder -> Mono.<Order>error(new ValidationException("Order cannot be delivered in its current status")))
+                        .switchIfEmpty(Mono.error(() -> new NotExistValidationException("Order " + orderNumber + " does not exist.")))))
+                .flatMap(order -> {
+                    if (order.getStatus() != OrderStatus.PLACED) {
+                        return Mono.<Void>error(new ValidationException("Order cannot be delivered in its current status"));
+                    }
+
+                    return changeStatus(order, OrderStatus.DELIVERED);
+                });
+    }
+
+    private Mono<Void> changeStatus(Order order, OrderStatus status) {
+        var previousStatus = order.getStatus();
+        order.setStatus(status);
+
+        return orderRepository.save(order)
+                .flatMap(saved -> addToSalesRollup(saved, previousStatus, -1)
+                        .then(addToSalesRollup(saved, status, 1))
+                        .thenReturn(saved))
+                .as(transactionalOperator::transactional)
+                .doOnNext(saved -> eventPublisher.publishEvent(new OrderChangedEvent(saved, previousStatus)))
+                .then();
+    }
+
+    // Mirrors SalesReportService.recordPlaced/recordStatusChange against the same rollup table
+    private Mono<Void> addToSalesRollup(Order order, OrderStatus status, int direction) {
+        var salesDate = LocalDate.ofInstant(order.getOrderTimestamp(), ZoneOffset.UTC);
+        var revenue = direction > 0 ? order.getTotalPrice() : order.getTotalPrice().negate();
+
+        return orderRepository.addToSalesRollup(salesDate, order.getSku(), order.getCountry(), status.name(),
+                direction, (long) direction * order.getQuantity(), revenue);
+    }
+}
@@ -0,0 +1,53 @@
+package com.optivem.eshop.backend.core.services;
+
+import com.optivem.eshop.backend.core.dtos.QuoteOrderRequest;
+import com.optivem.eshop.backend.core.dtos.QuoteOrderResponse;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+// Non-blocking counterpart of QuoteService for the reactive profile
+@Service
+@Profile("reactive")
+public class ReactiveQuoteService {
+
+    private final PriceComponentService priceComponentService;
+    private final ReactiveCouponService couponService;
+    private final PricingService pricingService;
+    private final QuoteTokenService quoteTokenService;
+
+    public ReactiveQuoteService(PriceComponentService priceComponentService, ReactiveCouponService couponService,
+                                PricingService pricingService, QuoteTokenService quoteTokenService) {
+        this.priceComponentService = priceComponentService;
+        this.couponService = couponService;
+        this.pricingService = pricingService;
+        this.quoteTokenService = quoteTokenService;
+    }
+
+    public Mono<QuoteOrderResponse> quoteOrder(QuoteOrderRequest request) {
+        var sku = request.getSku();
+        var quantity = request.getQuantity();
+        var country = request.getCountry();
+        var couponCode = request.getCouponCode();
+
+        // Both remote lookups start immediately, but are awaited in the same order as QuoteService,
+        // so a request with several invalid fields reports the same validation error on both stacks
+        return Mono.defer(() -> {
+            var unitPriceFuture = priceComponentService.getCachedUnitPriceAsync(sku);
+            var taxRateFuture = priceComponentService.getCachedTaxRateAsync(country);
+
+            return Mono.fromFuture(unitPriceFuture)
+                    .flatMap(unitPrice -> couponService.getDiscount(couponCode)
+                            .flatMap(discountRate -> Mono.fromFuture(taxRateFuture)
+                                    .map(taxRate -> {
+                                        var price = pricingService.calculate(unitPrice, quantity, discountRate, taxRate);
+                                        var appliedCouponCode = discountRate.compareTo(BigDecimal.ZERO) > 0 ? couponCode : null;
+                                        var quoteToken = quoteTokenService.issue(sku, quantity, country, couponCode,
+                                                price.unitPrice(), price.taxRate());
+                                        return QuoteService.toResponse(request, price, appliedCouponCode, quoteToken);
+                                    })));
+        });
+    }
+}
@@ -0,0 +1,152 @@
+package com.optivem.eshop.backend.core.services;
+
+import com.optivem.eshop.backend.core.dtos.SalesReportResponse;
+import com.optivem.eshop.backend.core.entities.Order;
+import com.optivem.eshop.backend.core.entities.OrderStatus;
+import com.optivem.eshop.backend.core.entities.SalesRollup;
+import com.optivem.eshop.backend.core.exceptions.ValidationException;
+import com.optivem.eshop.backend.core.repositories.SalesRollupRepository;
+import com.optivem.eshop.backend.core.sharding.ShardedOrderRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class SalesReportService {
+
+    private static final LocalDate EARLIEST_DATE = LocalDate.EPOCH;
+    private static final LocalDate LATEST_DATE = LocalDate.of(9999, 12, 31);
+
+    private static final Comparator<GroupKey> GROUP_ORDER = Comparator
+            .comparing(GroupKey::date, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(GroupKey::sku, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(GroupKey::country, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(GroupKey::status, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final SalesRollupRepository salesRollupRepository;
+    private final boolean ordersSharded;
+
+    public SalesReportService(SalesRollupRepository salesRollupRepository,
+                              ObjectProvider<ShardedOrderRepository> shardedOrderRepository) {
+        this.salesRollupRepository = salesRollupRepository;
+        this.ordersSharded = shardedOrderRepository.getIfAvailable() != null;
+    }
+
+    @Transactional
+    public void recordPlaced(Order order) {
+        addToRollup(order, order.getStatus(), 1);
+    }
+
+    @Transactional
+    public void recordStatusChange(Order order, OrderStatus previousStatus) {
+        addToRollup(order, previousStatus, -1);
+        addToRollup(order, order.getStatus(), 1);
+    }
+
+    @Transactional
+    public void rebuildRollups() {
+        // The rebuild aggregates the orders table of this database, which no longer holds the orders once they are
+        // sharded; rebuilding would drop every order on a shard from the rollups
+        if (ordersSharded) {
+            throw new ValidationException("Sales rollups cannot be rebuilt while orders are sharded");
+        }
+        salesRollupRepository.lockRollups();
+        salesRollupRepository.deleteAllRollups();
+        salesRollupRepository.insertRollupsFromOrders();
+    }
+
+    @Transactional(readOnly = true)
+    public SalesReportResponse getSalesReport(LocalDate from, LocalDate to, String sku, String country,
+                                              OrderStatus status, List<String> groupBy) {
+        var dimensions = parseDimensions(groupBy);
+
+        // Reads one row per matching (date, sku, country, status) group, never individual orders
+        var rollups = salesRollupRepository.findMatching(
+                from != null ? from : EARLIEST_DATE,
+                to != null ? to : LATEST_DATE,
+                sku, country, status);
+
+        Map<GroupKey, SalesReportResponse.SalesReportItemResponse> groups = new HashMap<>();
+        for (var rollup : rollups) {
+            var key = toGroupKey(rollup, dimensions);
+            var item = groups.computeIfAbsent(key, SalesReportService::newItem);
+            item.setOrderCount(item.getOrderCount() + rollup.getOrderCount());
+            item.setTotalQuantity(item.getTotalQuantity() + rollup.getTotalQuantity());
+            item.setTotalRevenue(item.getTotalRevenue().add(rollup.getTotalRevenue()));
+        }
+
+        var items = groups.entrySet().stream()
+                .filter(entry -> entry.getValue().getOrderCount() != 0)
+                .sorted(Map.Entry.comparingByKey(GROUP_ORDER))
+                .map(Map.Entry::getValue)
+                .toList();
+
+        var result = new SalesReportResponse();
+        result.setItems(items);
+        return result;
+    }
+
+    private void addToRollup(Order order, OrderStatus status, int direction) {
+        var salesDate = LocalDate.ofInstant(order.getOrderTimestamp(), ZoneOffset.UTC);
+        var revenue = direction > 0 ? order.getTotalPrice() : order.getTotalPrice().negate();
+
+        salesRollupRepository.addToRollup(salesDate, order.getSku(), order.getCountry(), status.name(),
+                direction, (long) direction * order.getQuantity(), revenue);
+    }
+
+    private static Set<Dimension> parseDimensions(List<String> groupBy) {
+        if (groupBy == null || groupBy.isEmpty()) {
+            return EnumSet.allOf(Dimension.class);
+        }
+
+        var dimensions = EnumSet.noneOf(Dimension.class);
+        for (var value : groupBy) {
+            try {
+                dimensions.add(Dimension.valueOf(value.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new ValidationException("groupBy", "Unsupported groupBy dimension: " + value
+                        + ". Supported dimensions are date, sku, country and status");
+            }
+        }
+        return dimensions;
+    }
+
+    private static GroupKey toGroupKey(SalesRollup rollup, Set<Dimension> dimensions) {
+        return new GroupKey(
+                dimensions.contains(Dimension.DATE) ? rollup.getSalesDate() : null,
+                dimensions.contains(Dimension.SKU) ? rollup.getSku() : null,
+                dimensions.contains(Dimension.COUNTRY) ? rollup.getCountry() : null,
+                dimensions.contains(Dimension.STATUS) ? rollup.getStatus() : null);
+    }
+
+    private static SalesReportResponse.SalesReportItemResponse newItem(GroupKey key) {
+        var item = new SalesReportResponse.SalesReportItemResponse();
+        item.setDate(key.date());
+        item.setSku(key.sku());
+        item.setCountry(key.country());
+        item.setStatus(key.status());
+        item.setTotalRevenue(BigDecimal.ZERO);
+        return item;
+    }
+
+    private enum Dimension {
+        DATE,
+        SKU,
+        COUNTRY,
+        STATUS
+    }
+
+    private record GroupKey(LocalDate date, String sku, String country, OrderStatus status) {
+    }
+}
@@ -1,8 +1,8 @@
 package com.optivem.eshop.backend.core.services.external;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.optivem.eshop.backend.core.dtos.external.GetTimeResponse;
+import io.micrometer.observation.ObservationRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -11,12 +11,20 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
 public class ClockGateway {
 
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
-            .registerModule(new JavaTimeModule());
+    private static final String GATEWAY = "clock";
+    private static final ObjectReader TIME_READER = GatewayJson.readerFor(GetTimeResponse.class);
+
+    // Shared by every call, so connections are pooled and kept alive; sendAsync multiplexes the in-flight requests
+    // over the client's selector thread
+    private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
+            .connectTimeout(java.time.Duration.ofSeconds(10))
+            .build();
 
     @Value("${external.system-mode}")
     private String externalSystemMode;
@@ -24,6 +32,12 @@ public class ClockGateway {
     @Value("${clock.url}")
     private String clockUrl;
 
+    private final ObservationRegistry observationRegistry;
+
+    public ClockGateway(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
     public Instant getCurrentTime() {
 
         if ("real".equals(externalSystemMode)) {
@@ -35,39 +49,64 @@ public class ClockGateway {
         }
     }
 
+    public CompletableFuture<Instant> getCurrentTimeAsync() {
+        if ("real".equals(externalSystemMode)) {
+            return CompletableFuture.completedFuture(getRealTime());
+        } else if ("stub".equals(externalSystemMode)) {
+            return getStubTimeAsync();
+        } else {
+            return CompletableFuture.failedFuture(
+                    new IllegalStateException("Unknown external system mode: " + externalSystemMode));
+        }
+    }
+
     private Instant getRealTime() {
         return Instant.now();
     }
 
     private Instant getStubTime() {
         try {
-            var httpClient = HttpClient.newBuilder()
-                    .connectTimeout(java.time.Duration.ofSeconds(10))
-                    .build();
-
             var url = clockUrl + "/api/time";
-            var request = HttpRequest.newBuilder()
-                    .uri(URI.create(url))
-                    .timeout(java.time.Duration.ofSeconds(10))
-                    .GET()
-                    .build();
-
-            var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-
-            if (response.statusCode() != 200) {
-                throw new IllegalStateException("Clock API returned status " + response.statusCode() +
-                        ". URL: " + url + ". Response: " + response.body());
-            }
-
-            var clockResponse = OBJECT_MAPPER.readValue(response.body(), GetTimeResponse.class);
-            return clockResponse.getTime();
+            var response = GatewayObservation.observe(observationRegistry, GATEWAY, requestBuilder(url),
+                    request -> HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofInputStream()));
+            return toTime(url, GatewayJson.read(response, TIME_READER));
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            throw new IllegalStateException("Failed to fetch current time from URL: " + clockUrl +
-                    ". Error: " + e.getClass().getSimpleName() + ": " + e.getMessage(), e);
+            throw fetchFailed(e);
         } catch (Exception e) {
-            throw new IllegalStateException("Failed to fetch current time from URL: " + clockUrl +
-                    ". Error: " + e.getClass().getSimpleName() + ": " + e.getMessage(), e);
+            throw fetchFailed(e);
+        }
+    }
+
+    private CompletableFuture<Instant> getStubTimeAsync() {
+        var url = clockUrl + "/api/time";
+
+        return GatewayObservation.observeAsync(observationRegistry, GATEWAY, requestBuilder(url), HTTP_CLIENT,
+                        GatewayJson.<GetTimeResponse>asyncBodyHandler(TIME_READER))
+                .thenApply(response -> toTime(url, response.body()))
+                .exceptionally(error -> {
+                    throw fetchFailed(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+                });
+    }
+
+    private static HttpRequest.Builder requestBuilder(String url) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .timeout(java.time.Duration.ofSeconds(10))
+                .GET();
+    }
+
+    private static Instant toTime(String url, GatewayJson.GatewayResponse<GetTimeResponse> response) {
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Clock API returned status " + response.statusCode() +
+                    ". URL: " + url + ". Response: " + response.errorBody());
         }
+
+        return response.body().getTime();
+    }
+
+    private IllegalStateException fetchFailed(Throwable e) {
+        return new IllegalStateException("Failed to fetch current time from URL: " + clockUrl +
+                ". Error: " + e.getClass().getSimpleName() + ": " + e.getMessage(), e);
     }
 }
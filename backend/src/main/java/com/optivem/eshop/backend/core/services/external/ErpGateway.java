@@ -1,7 +1,8 @@
 package com.optivem.eshop.backend.core.services.external;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.optivem.eshop.backend.core.dtos.external.ProductDetailsResponse;
+import io.micrometer.observation.ObservationRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -10,51 +11,90 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
 public class ErpGateway {
 
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String GATEWAY = "erp";
+    private static final ObjectReader PRODUCT_DETAILS_READER = GatewayJson.readerFor(ProductDetailsResponse.class);
+
+    // Shared by every call, so connections are pooled and kept alive; sendAsync multiplexes the in-flight requests
+    // over the client's selector thread
+    private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
+            .connectTimeout(java.time.Duration.ofSeconds(10))
+            .build();
     
     @Value("${erp.url}")
     private String erpUrl;
 
+    private final ObservationRegistry observationRegistry;
+    private final HedgedRequests hedgedRequests;
+
+    public ErpGateway(ObservationRegistry observationRegistry, HedgingPolicy hedgingPolicy) {
+        this.observationRegistry = observationRegistry;
+        this.hedgedRequests = new HedgedRequests(hedgingPolicy, observationRegistry);
+    }
+
     public Optional<ProductDetailsResponse> getProductDetails(String sku) {
+        if (hedgedRequests.isEnabled()) {
+            // Hedging needs a second request in flight, so the blocking call waits on the non-blocking one
+            return HedgedRequests.await(getProductDetailsAsync(sku));
+        }
+
         var url = erpUrl + "/api/products/" + sku;
 
         try {
-            var httpClient = HttpClient.newBuilder()
-                    .connectTimeout(java.time.Duration.ofSeconds(10))
-                    .build();
-
-            var request = HttpRequest.newBuilder()
-                    .uri(URI.create(url))
-                    .timeout(java.time.Duration.ofSeconds(10))
-                    .GET()
-                    .build();
-                    
-            var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-
-            if (response.statusCode() == 404) {
-                return Optional.empty();  // Product not found
-            }
-
-            if (response.statusCode() != 200) {
-                throw new IllegalStateException("ERP API returned status " + response.statusCode() + 
-                        " for SKU: " + sku + ". URL: " + url + ". Response: " + response.body());
-            }
-
-            var result = OBJECT_MAPPER.readValue(response.body(), ProductDetailsResponse.class);
-            return Optional.of(result);
+            var response = GatewayObservation.observe(observationRegistry, GATEWAY,
+                    requestBuilder(url, hedgedRequests.timeout()),
+                    request -> HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofInputStream()));
+            return toProductDetails(sku, url, GatewayJson.read(response, PRODUCT_DETAILS_READER));
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            throw new IllegalStateException("Failed to fetch product details for SKU: " + sku +
-                    " from URL: " + url +
-                    ". Error: " + e.getClass().getSimpleName() + ": " + e.getMessage(), e);
+            throw fetchFailed(sku, url, e);
         } catch (Exception e) {
-            throw new IllegalStateException("Failed to fetch product details for SKU: " + sku +
-                    " from URL: " + url +
-                    ". Error: " + e.getClass().getSimpleName() + ": " + e.getMessage(), e);
+            throw fetchFailed(sku, url, e);
+        }
+    }
+
+    public CompletableFuture<Optional<ProductDetailsResponse>> getProductDetailsAsync(String sku) {
+        var url = erpUrl + "/api/products/" + sku;
+
+        return hedgedRequests.send(() -> GatewayObservation.observeAsync(observationRegistry, GATEWAY,
+                        requestBuilder(url, hedgedRequests.timeout()), HTTP_CLIENT,
+                        GatewayJson.<ProductDetailsResponse>asyncBodyHandler(PRODUCT_DETAILS_READER)))
+                .thenApply(response -> toProductDetails(sku, url, response.body()))
+                .exceptionally(error -> {
+                    var cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    throw fetchFailed(sku, url, cause);
+                });
+    }
+
+    private static HttpRequest.Builder requestBuilder(String url, java.time.Duration timeout) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .timeout(timeout)
+                .GET();
+    }
+
+    private static Optional<ProductDetailsResponse> toProductDetails(String sku, String url,
+                                                                     GatewayJson.GatewayResponse<ProductDetailsResponse> response) {
+        if (response.statusCode() == 404) {
+            return Optional.empty();  // Product not found
         }
+
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("ERP API returned status " + response.statusCode() + 
+                    " for SKU: " + sku + ". URL: " + url + ". Response: " + response.errorBody());
+        }
+
+        return Optional.of(response.body());
+    }
+
+    private static IllegalStateException fetchFailed(String sku, String url, Throwable e) {
+        return new IllegalStateException("Failed to fetch product details for SKU: " + sku +
+                " from URL: " + url +
+                ". Error: " + e.getClass().getSimpleName() + ": " + e.getMessage(), e);
     }
 }
@@ -0,0 +1,75 @@
+package com.optivem.eshop.backend.core.services.external;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.core.NativeDetector;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+
+// Response decoding shared by the gateways: 2xx bodies are parsed from the response bytes by a pre-resolved reader,
+// only other statuses are decoded to text, for the error message
+final class GatewayJson {
+
+    private static final ObjectMapper OBJECT_MAPPER = createObjectMapper();
+
+    private GatewayJson() {
+    }
+
+    static ObjectReader readerFor(Class<?> type) {
+        return OBJECT_MAPPER.readerFor(type);
+    }
+
+    // Blocking callers parse straight from the stream, without buffering the body first
+    static <T> GatewayResponse<T> read(HttpResponse<InputStream> response, ObjectReader reader) throws IOException {
+        try (var body = response.body()) {
+            if (isSuccess(response.statusCode())) {
+                return new GatewayResponse<>(response.statusCode(), reader.readValue(body), null);
+            }
+            return new GatewayResponse<>(response.statusCode(), null, new String(body.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    // Async callers must not block the client's executor on a stream, so they parse the buffered bytes instead
+    static <T> HttpResponse.BodyHandler<GatewayResponse<T>> asyncBodyHandler(ObjectReader reader) {
+        return responseInfo -> {
+            var statusCode = responseInfo.statusCode();
+            if (isSuccess(statusCode)) {
+                return HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofByteArray(),
+                        bytes -> new GatewayResponse<>(statusCode, readValue(reader, bytes), null));
+            }
+            return HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofString(StandardCharsets.UTF_8),
+                    text -> new GatewayResponse<T>(statusCode, null, text));
+        };
+    }
+
+    private static boolean isSuccess(int statusCode) {
+        return statusCode >= 200 && statusCode < 300;
+    }
+
+    private static <T> T readValue(ObjectReader reader, byte[] bytes) {
+        try {
+            return reader.readValue(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ObjectMapper createObjectMapper() {
+        var builder = JsonMapper.builder().addModule(new JavaTimeModule());
+        // Blackbird generates accessors at run time, which a native image cannot do
+        if (!NativeDetector.inNativeImage()) {
+            builder.addModule(new BlackbirdModule());
+        }
+        return builder.build();
+    }
+
+    record GatewayResponse<T>(int statusCode, T body, String errorBody) {
+    }
+}
@@ -0,0 +1,87 @@
+package com.optivem.eshop.backend.core.services.external;
+
+import com.optivem.eshop.backend.core.jfr.GatewayCallEvent;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.transport.RequestReplySenderContext;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+
+// Outbound gateway calls as client observations. With tracing on, each call is a CLIENT span and the tracing handler
+// writes the W3C traceparent header into the request as the observation starts; with tracing off it is only timed.
+// Each call is also a GatewayCallEvent for JFR recordings
+final class GatewayObservation {
+
+    private static final String NAME = "eshop.gateway.request";
+
+    private GatewayObservation() {
+    }
+
+    @FunctionalInterface
+    interface Call<T> {
+        HttpResponse<T> send(HttpRequest request) throws IOException, InterruptedException;
+    }
+
+    static <T> HttpResponse<T> observe(ObservationRegistry registry, String gateway, HttpRequest.Builder requestBuilder,
+                                       Call<T> call) throws IOException, InterruptedException {
+        var observation = start(registry, gateway, requestBuilder);
+        var request = requestBuilder.build();
+        var event = new GatewayCallEvent();
+        event.start(gateway, request.uri().toString(), false);
+        try (var scope = observation.openScope()) {
+            var response = call.send(request);
+            observation.lowCardinalityKeyValue("status", String.valueOf(response.statusCode()));
+            event.completed(response.statusCode(), contentLength(response));
+            return response;
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            observation.error(e);
+            event.failed(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    static <T> CompletableFuture<HttpResponse<T>> observeAsync(ObservationRegistry registry, String gateway,
+                                                               HttpRequest.Builder requestBuilder,
+                                                               HttpClient client, HttpResponse.BodyHandler<T> bodyHandler) {
+        var observation = start(registry, gateway, requestBuilder);
+        var request = requestBuilder.build();
+        var event = new GatewayCallEvent();
+        event.start(gateway, request.uri().toString(), true);
+        var response = client.sendAsync(request, bodyHandler);
+        response.whenComplete((completed, error) -> {
+            if (error != null) {
+                observation.error(error);
+                event.failed(error);
+            } else {
+                observation.lowCardinalityKeyValue("status", String.valueOf(completed.statusCode()));
+                event.completed(completed.statusCode(), contentLength(completed));
+            }
+            observation.stop();
+        });
+        // The client's own future, so cancelling it (a losing hedged request) aborts the exchange
+        return response;
+    }
+
+    private static long contentLength(HttpResponse<?> response) {
+        return response.headers().firstValueAsLong("content-length").orElse(-1);
+    }
+
+    // Headers must be on the builder before start, since that is when the traceparent is injected
+    private static Observation start(ObservationRegistry registry, String gateway, HttpRequest.Builder requestBuilder) {
+        var context = new RequestReplySenderContext<HttpRequest.Builder, Object>(
+                (carrier, key, value) -> carrier.setHeader(key, value));
+        context.setCarrier(requestBuilder);
+        context.setRemoteServiceName(gateway);
+
+        return Observation.createNotStarted(NAME, () -> context, registry)
+                .contextualName(gateway + " GET")
+                .lowCardinalityKeyValue("gateway", gateway)
+                .start();
+    }
+}
@@ -0,0 +1,163 @@
+package com.optivem.eshop.backend.core.services.external;
+
+import io.micrometer.observation.ObservationRegistry;
+
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+// Hedged requests and adaptive timeouts for one gateway. Once a request has been outstanding for the gateway's
+// observed hedge percentile (p95 by default), an identical request is sent and whichever succeeds first wins; the
+// other is cancelled, which aborts its HTTP exchange. Hedges are paid for from a token bucket that every request
+// tops up by the budget ratio, so hedging adds at most that share of extra load plus a small burst
+final class HedgedRequests {
+
+    private static final long TOKEN = 1_000_000;
+    private static final long MAX_TOKENS = 10 * TOKEN;
+
+    private final HedgingPolicy policy;
+    private final ObservationRegistry observationRegistry;
+    private final LatencyHistogram histogram;
+    private final long tokensPerRequest;
+    private final AtomicLong tokens = new AtomicLong();
+
+    HedgedRequests(HedgingPolicy policy, ObservationRegistry observationRegistry) {
+        this.policy = policy;
+        this.observationRegistry = observationRegistry;
+        this.histogram = new LatencyHistogram(policy.window());
+        this.tokensPerRequest = Math.round(policy.hedgeBudgetRatio() * TOKEN);
+    }
+
+    boolean isEnabled() {
+        return policy.isEnabled();
+    }
+
+    // A multiple of the observed tail latency, clamped; the maximum until the window holds enough samples
+    Duration timeout() {
+        if (!policy.isAdaptiveTimeout()) {
+            return policy.maxTimeout();
+        }
+        return histogram.percentile(policy.timeoutPercentile(), policy.minSamples())
+                .map(latency -> Duration.ofNanos((long) (latency.toNanos() * policy.timeoutMultiplier())))
+                .map(timeout -> clamp(timeout, policy.minTimeout(), policy.maxTimeout()))
+                .orElse(policy.maxTimeout());
+    }
+
+    // The attempt must send a fresh request each time it is called
+    <T> CompletableFuture<T> send(Supplier<CompletableFuture<T>> attempt) {
+        var start = System.nanoTime();
+        var primary = attempt.get();
+        // A primary that timed out, or was cancelled because its hedge won, took at least this long, so the tail
+        // stays in the histogram; other failures say nothing about latency
+        primary.whenComplete((value, error) -> {
+            var cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause == null || cause instanceof CancellationException || cause instanceof HttpTimeoutException) {
+                histogram.record(System.nanoTime() - start);
+            }
+        });
+
+        if (!policy.isHedgingEnabled()) {
+            return primary;
+        }
+        depositTokens();
+        var hedgeDelay = histogram.percentile(policy.hedgePercentile(), policy.minSamples()).orElse(null);
+        if (hedgeDelay == null) {
+            return primary;
+        }
+
+        var result = new CompletableFuture<T>();
+        var outstanding = new AtomicInteger(1);
+        var hedge = new AtomicReference<CompletableFuture<T>>();
+        settle(primary, result, outstanding);
+
+        // The hedge is sent from the timer thread, under the caller's observation so its span joins the same trace
+        var parent = observationRegistry.getCurrentObservation();
+        var delay = hedgeDelay.compareTo(policy.minHedgeDelay()) > 0 ? hedgeDelay : policy.minHedgeDelay();
+        CompletableFuture.delayedExecutor(delay.toNanos(), TimeUnit.NANOSECONDS).execute(() -> {
+            if (result.isDone() || !withdrawToken()) {
+                return;
+            }
+            outstanding.incrementAndGet();
+            // The primary may have failed between the check and the increment
+            if (result.isDone()) {
+                return;
+            }
+            CompletableFuture<T> second;
+            if (parent != null) {
+                try (var scope = parent.openScope()) {
+                    second = attempt.get();
+                }
+            } else {
+                second = attempt.get();
+            }
+            hedge.set(second);
+            settle(second, result, outstanding);
+            if (result.isDone()) {
+                second.cancel(true);
+            }
+        });
+
+        result.whenComplete((value, error) -> {
+            primary.cancel(true);
+            var second = hedge.get();
+            if (second != null) {
+                second.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    // Joins from a blocking caller, rethrowing the gateway's own exception rather than a CompletionException
+    static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // The first success wins; the request fails only when every attempt has failed
+    private static <T> void settle(CompletableFuture<T> attempt, CompletableFuture<T> result,
+                                   AtomicInteger outstanding) {
+        attempt.whenComplete((value, error) -> {
+            if (error == null) {
+                result.complete(value);
+            } else if (outstanding.decrementAndGet() == 0) {
+                result.completeExceptionally(error);
+            }
+        });
+    }
+
+    private void depositTokens() {
+        tokens.updateAndGet(current -> Math.min(MAX_TOKENS, current + tokensPerRequest));
+    }
+
+    private boolean withdrawToken() {
+        while (true) {
+            var current = tokens.get();
+            if (current < TOKEN) {
+                return false;
+            }
+            if (tokens.compareAndSet(current, current - TOKEN)) {
+                return true;
+            }
+        }
+    }
+
+    private static Duration clamp(Duration value, Duration min, Duration max) {
+        if (value.compareTo(min) < 0) {
+            return min;
+        }
+        return value.compareTo(max) > 0 ? max : value;
+    }
+}
@@ -0,0 +1,117 @@
+package com.optivem.eshop.backend.core.services.external;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Settings for hedged ERP and tax lookups and their adaptive timeouts. Both are driven by a rolling latency
+// histogram per gateway and stay off, with the fixed 10 second timeout, until enabled
+@Component
+public class HedgingPolicy {
+
+    private static final long DEFAULT_TIMEOUT_MS = 10_000;
+
+    private final boolean hedgingEnabled;
+    private final double hedgePercentile;
+    private final Duration minHedgeDelay;
+    private final double hedgeBudgetRatio;
+    private final boolean adaptiveTimeout;
+    private final double timeoutPercentile;
+    private final double timeoutMultiplier;
+    private final Duration minTimeout;
+    private final Duration maxTimeout;
+    private final Duration window;
+    private final long minSamples;
+
+    public HedgingPolicy(@Value("${gateways.hedging.enabled:false}") boolean hedgingEnabled,
+                         @Value("${gateways.hedging.percentile:0.95}") double hedgePercentile,
+                         @Value("${gateways.hedging.min-delay-ms:5}") long minHedgeDelayMs,
+                         @Value("${gateways.hedging.budget-percent:5}") double hedgeBudgetPercent,
+                         @Value("${gateways.timeout.adaptive:false}") boolean adaptiveTimeout,
+                         @Value("${gateways.timeout.percentile:0.999}") double timeoutPercentile,
+                         @Value("${gateways.timeout.multiplier:3}") double timeoutMultiplier,
+                         @Value("${gateways.timeout.min-ms:1000}") long minTimeoutMs,
+                         @Value("${gateways.timeout.max-ms:10000}") long maxTimeoutMs,
+                         @Value("${gateways.latency.window-seconds:60}") long windowSeconds,
+                         @Value("${gateways.latency.min-samples:100}") long minSamples) {
+        if (hedgePercentile <= 0 || hedgePercentile >= 1 || timeoutPercentile <= 0 || timeoutPercentile >= 1) {
+            throw new IllegalArgumentException("gateways.hedging.percentile and gateways.timeout.percentile "
+                    + "must be between 0 and 1");
+        }
+        if (hedgeBudgetPercent < 0 || hedgeBudgetPercent > 100) {
+            throw new IllegalArgumentException("gateways.hedging.budget-percent must be between 0 and 100");
+        }
+        if (minTimeoutMs <= 0 || maxTimeoutMs < minTimeoutMs) {
+            throw new IllegalArgumentException("gateways.timeout.min-ms must be positive and at most "
+                    + "gateways.timeout.max-ms");
+        }
+        if (windowSeconds <= 0) {
+            throw new IllegalArgumentException("gateways.latency.window-seconds must be positive");
+        }
+        this.hedgingEnabled = hedgingEnabled;
+        this.hedgePercentile = hedgePercentile;
+        this.minHedgeDelay = Duration.ofMillis(minHedgeDelayMs);
+        this.hedgeBudgetRatio = hedgeBudgetPercent / 100;
+        this.adaptiveTimeout = adaptiveTimeout;
+        this.timeoutPercentile = timeoutPercentile;
+        this.timeoutMultiplier = timeoutMultiplier;
+        this.minTimeout = Duration.ofMillis(minTimeoutMs);
+        this.maxTimeout = Duration.ofMillis(maxTimeoutMs);
+        this.window = Duration.ofSeconds(windowSeconds);
+        this.minSamples = Math.max(1, minSamples);
+    }
+
+    // No hedging and the fixed timeout, for gateways constructed outside the application context
+    public static HedgingPolicy disabled() {
+        return new HedgingPolicy(false, 0.95, 5, 5, false, 0.999, 3, DEFAULT_TIMEOUT_MS, DEFAULT_TIMEOUT_MS, 60, 100);
+    }
+
+    public boolean isEnabled() {
+        return hedgingEnabled || adaptiveTimeout;
+    }
+
+    boolean isHedgingEnabled() {
+        return hedgingEnabled;
+    }
+
+    double hedgePercentile() {
+        return hedgePercentile;
+    }
+
+    Duration minHedgeDelay() {
+        return minHedgeDelay;
+    }
+
+    double hedgeBudgetRatio() {
+        return hedgeBudgetRatio;
+    }
+
+    boolean isAdaptiveTimeout() {
+        return adaptiveTimeout;
+    }
+
+    double timeoutPercentile() {
+        return timeoutPercentile;
+    }
+
+    double timeoutMultiplier() {
+        return timeoutMultiplier;
+    }
+
+    Duration minTimeout() {
+        return minTimeout;
+    }
+
+    Duration maxTimeout() {
+        return maxTimeout;
+    }
+
+    Duration window() {
+        return window;
+    }
+
+    long minSamples() {
+        return minSamples;
+    }
+}
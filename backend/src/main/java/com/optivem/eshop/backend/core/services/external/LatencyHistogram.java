@@ -0,0 +1,90 @@
+package com.optivem.eshop.backend.core.services.external;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Rolling latency histogram: log-scale buckets about 19% wide from 100 µs to about 20 s, kept in time slots that
+// together cover the window. Recording is lock-free; a slot is cleared when it is reused for a new slice of time
+final class LatencyHistogram {
+
+    private static final int BUCKETS = 72;
+    private static final long FIRST_BUCKET_MICROS = 100;
+    private static final double LOG_GROWTH = Math.log(Math.pow(2, 0.25));
+    private static final long[] UPPER_BOUNDS_MICROS = upperBounds();
+    private static final int SLOTS = 6;
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final long slotNanos;
+    private final AtomicLongArray[] counts = new AtomicLongArray[SLOTS];
+    private final AtomicLongArray slotEpochs = new AtomicLongArray(SLOTS);
+
+    LatencyHistogram(Duration window) {
+        this.slotNanos = Math.max(1, window.toNanos() / SLOTS);
+        for (var slot = 0; slot < SLOTS; slot++) {
+            counts[slot] = new AtomicLongArray(BUCKETS);
+            slotEpochs.set(slot, EMPTY);
+        }
+    }
+
+    void record(long nanos) {
+        var epoch = Math.floorDiv(System.nanoTime(), slotNanos);
+        var slot = (int) Math.floorMod(epoch, SLOTS);
+        var held = slotEpochs.get(slot);
+        if (held != epoch && slotEpochs.compareAndSet(slot, held, epoch)) {
+            // A few concurrent samples may be lost with the old slice; the histogram only needs to be approximate
+            for (var bucket = 0; bucket < BUCKETS; bucket++) {
+                counts[slot].set(bucket, 0);
+            }
+        }
+        counts[slot].incrementAndGet(bucketOf(nanos));
+    }
+
+    // Upper bound of the bucket holding the quantile; empty until the window holds minSamples samples
+    Optional<Duration> percentile(double quantile, long minSamples) {
+        var epoch = Math.floorDiv(System.nanoTime(), slotNanos);
+        var totals = new long[BUCKETS];
+        var total = 0L;
+        for (var slot = 0; slot < SLOTS; slot++) {
+            var held = slotEpochs.get(slot);
+            if (held == EMPTY || epoch - held >= SLOTS) {
+                continue;
+            }
+            for (var bucket = 0; bucket < BUCKETS; bucket++) {
+                var count = counts[slot].get(bucket);
+                totals[bucket] += count;
+                total += count;
+            }
+        }
+        if (total == 0 || total < minSamples) {
+            return Optional.empty();
+        }
+
+        var rank = (long) Math.ceil(quantile * total);
+        var seen = 0L;
+        for (var bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += totals[bucket];
+            if (seen >= rank) {
+                return Optional.of(Duration.ofNanos(UPPER_BOUNDS_MICROS[bucket] * 1_000));
+            }
+        }
+        return Optional.of(Duration.ofNanos(UPPER_BOUNDS_MICROS[BUCKETS - 1] * 1_000));
+    }
+
+    private static int bucketOf(long nanos) {
+        var micros = nanos / 1_000;
+        if (micros <= FIRST_BUCKET_MICROS) {
+            return 0;
+        }
+        var bucket = (int) Math.ceil(Math.log((double) micros / FIRST_BUCKET_MICROS) / LOG_GROWTH);
+        return Math.min(bucket, BUCKETS - 1);
+    }
+
+    private static long[] upperBounds() {
+        var bounds = new long[BUCKETS];
+        for (var bucket = 0; bucket < BUCKETS; bucket++) {
+            bounds[bucket] = (long) Math.ceil(FIRST_BUCKET_MICROS * Math.exp(bucket * LOG_GROWTH));
+        }
+        return bounds;
+    }
+}
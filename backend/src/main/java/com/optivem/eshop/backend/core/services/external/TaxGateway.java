@@ -1,7 +1,8 @@
 package com.optivem.eshop.backend.core.services.external;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.optivem.eshop.backend.core.dtos.external.TaxDetailsResponse;
+import io.micrometer.observation.ObservationRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -10,49 +11,89 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
 public class TaxGateway {
 
-    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String GATEWAY = "tax";
+    private static final ObjectReader TAX_DETAILS_READER = GatewayJson.readerFor(TaxDetailsResponse.class);
+
+    // Shared by every call, so connections are pooled and kept alive; sendAsync multiplexes the in-flight requests
+    // over the client's selector thread
+    private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
+            .connectTimeout(java.time.Duration.ofSeconds(10))
+            .build();
 
     @Value("${tax.url}")
     private String taxUrl;
 
+    private final ObservationRegistry observationRegistry;
+    private final HedgedRequests hedgedRequests;
+
+    public TaxGateway(ObservationRegistry observationRegistry, HedgingPolicy hedgingPolicy) {
+        this.observationRegistry = observationRegistry;
+        this.hedgedRequests = new HedgedRequests(hedgingPolicy, observationRegistry);
+    }
+
     public Optional<TaxDetailsResponse> getTaxDetails(String country) {
+        if (hedgedRequests.isEnabled()) {
+            // Hedging needs a second request in flight, so the blocking call waits on the non-blocking one
+            return HedgedRequests.await(getTaxDetailsAsync(country));
+        }
+
         var url = taxUrl + "/api/countries/" + country;
 
         try {
-            var httpClient = HttpClient.newBuilder()
-                    .connectTimeout(java.time.Duration.ofSeconds(10))
-                    .build();
+            var response = GatewayObservation.observe(observationRegistry, GATEWAY,
+                    requestBuilder(url, hedgedRequests.timeout()),
+                    request -> HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofInputStream()));
+            return toTaxDetails(country, url, GatewayJson.read(response, TAX_DETAILS_READER));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw fetchFailed(country, url, e);
+        } catch (Exception e) {
+            throw fetchFailed(country, url, e);
+        }
+    }
 
-            var request = HttpRequest.newBuilder()
-                    .uri(URI.create(url))
-                    .timeout(java.time.Duration.ofSeconds(10))
-                    .GET()
-                    .build();
+    public CompletableFuture<Optional<TaxDetailsResponse>> getTaxDetailsAsync(String country) {
+        var url = taxUrl + "/api/countries/" + country;
 
-            var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        return hedgedRequests.send(() -> GatewayObservation.observeAsync(observationRegistry, GATEWAY,
+                        requestBuilder(url, hedgedRequests.timeout()), HTTP_CLIENT,
+                        GatewayJson.<TaxDetailsResponse>asyncBodyHandler(TAX_DETAILS_READER)))
+                .thenApply(response -> toTaxDetails(country, url, response.body()))
+                .exceptionally(error -> {
+                    var cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                    throw fetchFailed(country, url, cause);
+                });
+    }
 
-            if (response.statusCode() == 404) {
-                return Optional.empty();
-            }
+    private static HttpRequest.Builder requestBuilder(String url, java.time.Duration timeout) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .timeout(timeout)
+                .GET();
+    }
 
-            if (response.statusCode() != 200) {
-                throw new IllegalStateException("Tax API returned status " + response.statusCode() +
-                        " for country: " + country + ". URL: " + url + ". Response: " + response.body());
-            }
+    private static Optional<TaxDetailsResponse> toTaxDetails(String country, String url,
+                                                             GatewayJson.GatewayResponse<TaxDetailsResponse> response) {
+        if (response.statusCode() == 404) {
+            return Optional.empty();
+        }
 
-            var result = OBJECT_MAPPER.readValue(response.body(), TaxDetailsResponse.class);
-            return Optional.of(result);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new IllegalStateException("Failed to fetch tax details for country: " + country +
-                    " from URL: " + url + ". Error: " + e.getClass().getSimpleName() + ": " + e.getMessage(), e);
-        } catch (Exception e) {
-            throw new IllegalStateException("Failed to fetch tax details for country: " + country +
-                    " from URL: " + url + ". Error: " + e.getClass().getSimpleName() + ": " + e.getMessage(), e);
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Tax API returned status " + response.statusCode() +
+                    " for country: " + country + ". URL: " + url + ". Response: " + response.errorBody());
         }
+
+        return Optional.of(response.body());
+    }
+
+    private static IllegalStateException fetchFailed(String country, String url, Throwable e) {
+        return new IllegalStateException("Failed to fetch tax details for country: " + country +
+                " from URL: " + url + ". Error: " + e.getClass().getSimpleName() + ": " + e.getMessage(), e);
     }
 }
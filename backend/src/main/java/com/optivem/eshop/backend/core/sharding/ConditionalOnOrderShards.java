@@ -0,0 +1,17 @@
+package com.optivem.eshop.backend.core.sharding;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Order sharding is only wired when at least one shard URL is configured
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@ConditionalOnExpression("!'${datasource.shards.urls:}'.isBlank()")
+public @interface ConditionalOnOrderShards {
+}
@@ -0,0 +1,133 @@
+package com.optivem.eshop.backend.core.sharding;
+
+import com.optivem.eshop.backend.core.entities.Order;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Moves orders to the shard their order number now hashes to: out of the main database's orders table when shards
+// are first configured, and between shards after shards were added or removed. Every node must run with
+// datasource.shards.resharding=true meanwhile, so orders are found, and kept in step, wherever they are; turn it off
+// once a sweep completes with no node on the old configuration left.
+// Each batch scans the next rows of every table by id. A misplaced order is copied to its shard and then deleted
+// where it was, unless its status changed in between, in which case the copy is refreshed and the delete retried.
+// Run it from one node at a time; a sweep is complete once every table was scanned to the end
+public class OrderResharder {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderResharder.class);
+
+    private static final String BATCH_SQL = "SELECT " + ShardedOrderRepository.COLUMNS
+            + " FROM orders WHERE id > ? ORDER BY id LIMIT ?";
+    // Only the status of an order ever changes
+    private static final String COPY_SQL = "INSERT INTO orders (order_number, order_timestamp, country, sku,"
+            + " quantity, unit_price, base_price, discount_rate, discount_amount, subtotal_price, tax_rate, tax_amount,"
+            + " total_price, status, applied_coupon_code) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"
+            + " ON CONFLICT (order_number) DO UPDATE SET status = EXCLUDED.status";
+    private static final String DELETE_SQL = "DELETE FROM orders WHERE order_number = ? AND status = ?";
+    private static final String COUNT_SQL = "SELECT count(*) FROM orders";
+    private static final int MAX_MOVE_ATTEMPTS = 3;
+
+    private final ShardedOrderRepository repository;
+    private final long[] lastScannedIds;
+    private final boolean[] scanned;
+    private long sweepScanned;
+    private long sweepMoved;
+
+    public OrderResharder(ShardedOrderRepository repository) {
+        this.repository = repository;
+        this.lastScannedIds = new long[repository.getSources().size()];
+        this.scanned = new boolean[repository.getSources().size()];
+    }
+
+    public record BatchResult(long scanned, long moved, long sweepScanned, long sweepMoved, boolean sweepComplete) {
+    }
+
+    // Rows in each order table, the unsharded one included while resharding
+    public Map<String, Long> countOrders() {
+        var counts = new LinkedHashMap<String, Long>();
+        for (var shard : repository.getSources()) {
+            counts.put(shard.getName(), shard.getJdbcTemplate().queryForObject(COUNT_SQL, Long.class));
+        }
+        return counts;
+    }
+
+    public synchronized BatchResult moveBatch(int batchSize) {
+        if (allScanned()) {
+            // The previous sweep finished; start another, e.g. after a node still on the old shard list wrote orders
+            Arrays.fill(lastScannedIds, 0);
+            Arrays.fill(scanned, false);
+            sweepScanned = 0;
+            sweepMoved = 0;
+        }
+
+        var sources = repository.getSources();
+        long batchScanned = 0;
+        long batchMoved = 0;
+        for (var index = 0; index < sources.size(); index++) {
+            if (scanned[index]) {
+                continue;
+            }
+            var source = sources.get(index);
+            var orders = source.getJdbcTemplate().query(BATCH_SQL, ShardedOrderRepository.ORDER_ROW_MAPPER,
+                    lastScannedIds[index], batchSize);
+            for (var order : orders) {
+                lastScannedIds[index] = order.getId();
+                var target = repository.shardFor(order.getOrderNumber());
+                if (target != source && move(order, source, target)) {
+                    batchMoved++;
+                }
+            }
+            batchScanned += orders.size();
+            scanned[index] = orders.size() < batchSize;
+        }
+
+        sweepScanned += batchScanned;
+        sweepMoved += batchMoved;
+        var complete = allScanned();
+        if (batchMoved > 0 || complete) {
+            log.info("Resharding: moved {} of {} orders scanned in this batch, {} of {} in this sweep{}", batchMoved,
+                    batchScanned, sweepMoved, sweepScanned, complete ? "; sweep complete" : "");
+        }
+        return new BatchResult(batchScanned, batchMoved, sweepScanned, sweepMoved, complete);
+    }
+
+    private boolean move(Order order, OrderShard source, OrderShard target) {
+        var current = order;
+        for (var attempt = 0; attempt < MAX_MOVE_ATTEMPTS; attempt++) {
+            copy(current, target);
+            if (source.getJdbcTemplate().update(DELETE_SQL, current.getOrderNumber(), current.getStatus().name()) > 0) {
+                return true;
+            }
+            // Updated since it was read, or already moved by another run
+            var reread = source.getJdbcTemplate().query(ShardedOrderRepository.FIND_BY_ORDER_NUMBER_SQL,
+                    ShardedOrderRepository.ORDER_ROW_MAPPER, current.getOrderNumber());
+            if (reread.isEmpty()) {
+                return false;
+            }
+            current = reread.get(0);
+        }
+        log.warn("Resharding: order {} kept changing and stays on {} until the next sweep",
+                order.getOrderNumber(), source.getName());
+        return false;
+    }
+
+    private static void copy(Order order, OrderShard target) {
+        target.getJdbcTemplate().update(COPY_SQL, order.getOrderNumber(),
+                ShardedOrderRepository.toOffsetDateTime(order), order.getCountry(), order.getSku(),
+                order.getQuantity(), order.getUnitPrice(), order.getBasePrice(), order.getDiscountRate(),
+                order.getDiscountAmount(), order.getSubtotalPrice(), order.getTaxRate(), order.getTaxAmount(),
+                order.getTotalPrice(), order.getStatus().name(), order.getAppliedCouponCode());
+    }
+
+    private boolean allScanned() {
+        for (var done : scanned) {
+            if (!done) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,41 @@
+package com.optivem.eshop.backend.core.sharding;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+// One of the databases holding part of the orders table
+public class OrderShard {
+
+    private final String name;
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderShard(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    JdbcTemplate getJdbcTemplate() {
+        return jdbcTemplate;
+    }
+
+    // CRC32 rather than String.hashCode, so order numbers sharing a prefix still spread evenly. Stable across
+    // releases and nodes: changing it, like changing the shard count, means moving orders with OrderResharder
+    static int indexOf(String orderNumber, int shardCount) {
+        var crc = new CRC32();
+        crc.update(orderNumber.getBytes(StandardCharsets.UTF_8));
+        return (int) (crc.getValue() % shardCount);
+    }
+}
@@ -0,0 +1,356 @@
+package com.optivem.eshop.backend.core.sharding;
+
+import com.optivem.eshop.backend.core.entities.Order;
+import com.optivem.eshop.backend.core.entities.OrderStatus;
+import com.optivem.eshop.backend.core.repositories.OrderStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Orders spread over several PostgreSQL databases by a hash of the order number. Lookups and updates touch one
+// shard; history queries run on every shard in parallel with the limit pushed down, and the sorted results are
+// merged on order_timestamp. Writes commit on the shard on their own; an insert is deleted again when the main database
+// transaction it ran in rolls back, while updates are not undone.
+// While resharding, lookups, updates and history also cover the other shards and the unsharded orders table of the
+// main database, for orders OrderResharder has not moved yet
+public class ShardedOrderRepository implements OrderStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardedOrderRepository.class);
+
+    static final String COLUMNS = "id, order_number, order_timestamp, country, sku, quantity, unit_price, base_price,"
+            + " discount_rate, discount_amount, subtotal_price, tax_rate, tax_amount, total_price, status,"
+            + " applied_coupon_code";
+
+    // Matches the table Hibernate creates on the main database; never dropped, unlike that one
+    private static final List<String> SCHEMA_SQL = List.of("""
+            CREATE TABLE IF NOT EXISTS orders (
+                id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                order_number VARCHAR(255) NOT NULL UNIQUE,
+                order_timestamp TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+                country VARCHAR(255) NOT NULL,
+                sku VARCHAR(255) NOT NULL,
+                quantity INTEGER NOT NULL,
+                unit_price NUMERIC(10, 2) NOT NULL,
+                base_price NUMERIC(10, 2) NOT NULL,
+                discount_rate NUMERIC(5, 4) NOT NULL,
+                discount_amount NUMERIC(10, 2) NOT NULL,
+                subtotal_price NUMERIC(10, 2) NOT NULL,
+                tax_rate NUMERIC(5, 4) NOT NULL,
+                tax_amount NUMERIC(10, 2) NOT NULL,
+                total_price NUMERIC(10, 2) NOT NULL,
+                status VARCHAR(255) NOT NULL,
+                applied_coupon_code VARCHAR(255)
+            )""",
+            "CREATE INDEX IF NOT EXISTS idx_orders_order_timestamp ON orders (order_timestamp)",
+            "CREATE INDEX IF NOT EXISTS idx_orders_status_order_timestamp ON orders (status, order_timestamp)");
+
+    private static final String INSERT_SQL = "INSERT INTO orders (order_number, order_timestamp, country, sku,"
+            + " quantity, unit_price, base_price, discount_rate, discount_amount, subtotal_price, tax_rate, tax_amount,"
+            + " total_price, status, applied_coupon_code) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_SQL = "UPDATE orders SET order_timestamp = ?, country = ?, sku = ?,"
+            + " quantity = ?, unit_price = ?, base_price = ?, discount_rate = ?, discount_amount = ?,"
+            + " subtotal_price = ?, tax_rate = ?, tax_amount = ?, total_price = ?, status = ?, applied_coupon_code = ?"
+            + " WHERE order_number = ?";
+    static final String DELETE_SQL = "DELETE FROM orders WHERE order_number = ?";
+    static final String FIND_BY_ORDER_NUMBER_SQL = "SELECT " + COLUMNS + " FROM orders WHERE order_number = ?";
+    private static final String NEWEST_SQL = "SELECT " + COLUMNS + " FROM orders ORDER BY order_timestamp DESC";
+    private static final String MATCHING_SQL = "SELECT " + COLUMNS + " FROM orders"
+            + " WHERE LOWER(order_number) LIKE LOWER('%' || ? || '%') ORDER BY order_timestamp DESC";
+    private static final String LIMIT_SQL = " LIMIT ?";
+
+    static final RowMapper<Order> ORDER_ROW_MAPPER = (resultSet, rowNum) -> {
+        var order = new Order();
+        order.setId(resultSet.getLong("id"));
+        order.setOrderNumber(resultSet.getString("order_number"));
+        order.setOrderTimestamp(resultSet.getObject("order_timestamp", OffsetDateTime.class).toInstant());
+        order.setCountry(resultSet.getString("country"));
+        order.setSku(resultSet.getString("sku"));
+        order.setQuantity(resultSet.getInt("quantity"));
+        order.setUnitPrice(resultSet.getBigDecimal("unit_price"));
+        order.setBasePrice(resultSet.getBigDecimal("base_price"));
+        order.setDiscountRate(resultSet.getBigDecimal("discount_rate"));
+        order.setDiscountAmount(resultSet.getBigDecimal("discount_amount"));
+        order.setSubtotalPrice(resultSet.getBigDecimal("subtotal_price"));
+        order.setTaxRate(resultSet.getBigDecimal("tax_rate"));
+        order.setTaxAmount(resultSet.getBigDecimal("tax_amount"));
+        order.setTotalPrice(resultSet.getBigDecimal("total_price"));
+        order.setStatus(OrderStatus.valueOf(resultSet.getString("status")));
+        order.setAppliedCouponCode(resultSet.getString("applied_coupon_code"));
+        return order;
+    };
+
+    // Ties broken on the order number, so every node merges equal timestamps the same way
+    private static final Comparator<Order> NEWEST_FIRST = Comparator.comparing(Order::getOrderTimestamp)
+            .thenComparing(Order::getOrderNumber)
+            .reversed();
+
+    private final List<OrderShard> shards;
+    private final List<OrderShard> sources;
+    private final boolean resharding;
+    private final ExecutorService scatterExecutor;
+
+    // unsharded is the orders table every order was in before the shards were configured; it is never closed here
+    public ShardedOrderRepository(List<OrderShard> shards, OrderShard unsharded, boolean resharding, int maxPoolSize) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one order shard is required");
+        }
+        this.shards = List.copyOf(shards);
+        this.sources = resharding ? append(this.shards, unsharded) : this.shards;
+        this.resharding = resharding;
+        // Platform threads: the JDBC driver blocks inside synchronized code, which would pin a virtual thread's carrier.
+        // No more threads than the shard pools have connections, so queued queries wait here rather than in Hikari
+        this.scatterExecutor = Executors.newFixedThreadPool(this.sources.size() * maxPoolSize,
+                Thread.ofPlatform().daemon().name("order-shard-query-", 0).factory());
+    }
+
+    public List<OrderShard> getShards() {
+        return shards;
+    }
+
+    public boolean isResharding() {
+        return resharding;
+    }
+
+    // Every table an order can be in: the shards and, while resharding, the unsharded table
+    List<OrderShard> getSources() {
+        return sources;
+    }
+
+    public void createSchema() {
+        for (var shard : shards) {
+            SCHEMA_SQL.forEach(shard.getJdbcTemplate()::execute);
+        }
+    }
+
+    public OrderShard shardFor(String orderNumber) {
+        return shards.get(OrderShard.indexOf(orderNumber, shards.size()));
+    }
+
+    @Override
+    public <S extends Order> S save(S order) {
+        var home = shardFor(order.getOrderNumber());
+        if (order.getId() == null) {
+            insert(home, order);
+            deleteOnRollback(home, order.getOrderNumber());
+            return order;
+        }
+
+        var updated = update(home, order);
+        if (resharding) {
+            // An order that is being moved exists in two tables for a moment; both copies must stay the same
+            for (var shard : sources) {
+                if (shard != home) {
+                    updated += update(shard, order);
+                }
+            }
+        }
+        if (updated == 0) {
+            throw new IllegalStateException("Order " + order.getOrderNumber() + " is not in any order table");
+        }
+        return order;
+    }
+
+    @Override
+    public Optional<Order> findByOrderNumber(String orderNumber) {
+        var home = shardFor(orderNumber);
+        var order = find(home, orderNumber);
+        if (order.isPresent() || !resharding) {
+            return order;
+        }
+        for (var shard : sources) {
+            if (shard != home) {
+                order = find(shard, orderNumber);
+                if (order.isPresent()) {
+                    return order;
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public List<Order> findAllByOrderByOrderTimestampDesc() {
+        return scatterGather(NEWEST_SQL, null);
+    }
+
+    @Override
+    public List<Order> findAllByOrderByOrderTimestampDesc(Limit limit) {
+        return scatterGather(NEWEST_SQL, limitOf(limit));
+    }
+
+    @Override
+    public List<Order> findByOrderNumberContainingIgnoreCaseOrderByOrderTimestampDesc(String orderNumber) {
+        return scatterGather(MATCHING_SQL, null, orderNumber);
+    }
+
+    @Override
+    public List<Order> findByOrderNumberContainingIgnoreCaseOrderByOrderTimestampDesc(String orderNumber,
+                                                                                      Limit limit) {
+        return scatterGather(MATCHING_SQL, limitOf(limit), orderNumber);
+    }
+
+    public void close() {
+        scatterExecutor.shutdownNow();
+        for (var shard : shards) {
+            if (shard.getDataSource() instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Failed to close order shard {}", shard.getName(), e);
+                }
+            }
+        }
+    }
+
+    private static void insert(OrderShard shard, Order order) {
+        var keyHolder = new GeneratedKeyHolder();
+        shard.getJdbcTemplate().update(connection -> {
+            var statement = connection.prepareStatement(INSERT_SQL, new String[] {"id"});
+            var values = new Object[] {order.getOrderNumber(), toOffsetDateTime(order), order.getCountry(),
+                    order.getSku(), order.getQuantity(), order.getUnitPrice(), order.getBasePrice(),
+                    order.getDiscountRate(), order.getDiscountAmount(), order.getSubtotalPrice(), order.getTaxRate(),
+                    order.getTaxAmount(), order.getTotalPrice(), order.getStatus().name(),
+                    order.getAppliedCouponCode()};
+            for (var i = 0; i < values.length; i++) {
+                statement.setObject(i + 1, values[i]);
+            }
+            return statement;
+        }, keyHolder);
+        order.setId(keyHolder.getKeyAs(Long.class));
+    }
+
+    // Otherwise a placed order whose sales rollup or coupon usage rolled back would stay visible on the shard
+    private static void deleteOnRollback(OrderShard shard, String orderNumber) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    shard.getJdbcTemplate().update(DELETE_SQL, orderNumber);
+                }
+            }
+        });
+    }
+
+    private static int update(OrderShard shard, Order order) {
+        return shard.getJdbcTemplate().update(UPDATE_SQL, toOffsetDateTime(order), order.getCountry(),
+                order.getSku(), order.getQuantity(), order.getUnitPrice(), order.getBasePrice(),
+                order.getDiscountRate(), order.getDiscountAmount(), order.getSubtotalPrice(), order.getTaxRate(),
+                order.getTaxAmount(), order.getTotalPrice(), order.getStatus().name(), order.getAppliedCouponCode(),
+                order.getOrderNumber());
+    }
+
+    private static Optional<Order> find(OrderShard shard, String orderNumber) {
+        return shard.getJdbcTemplate().query(FIND_BY_ORDER_NUMBER_SQL, ORDER_ROW_MAPPER, orderNumber).stream()
+                .findFirst();
+    }
+
+    private List<Order> scatterGather(String sql, Integer limit, Object... args) {
+        var query = limit == null ? sql : sql + LIMIT_SQL;
+        var queryArgs = limit == null ? args : append(args, limit);
+        if (sources.size() == 1) {
+            return sources.get(0).getJdbcTemplate().query(query, ORDER_ROW_MAPPER, queryArgs);
+        }
+
+        var futures = sources.stream()
+                .map(shard -> CompletableFuture.supplyAsync(
+                        () -> shard.getJdbcTemplate().query(query, ORDER_ROW_MAPPER, queryArgs), scatterExecutor))
+                .toList();
+        var perShard = new ArrayList<List<Order>>(futures.size());
+        for (var future : futures) {
+            try {
+                perShard.add(future.join());
+            } catch (CompletionException e) {
+                futures.forEach(pending -> pending.cancel(true));
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+        return merge(perShard, limit);
+    }
+
+    // k-way merge of lists that are each sorted newest first, stopping at the limit
+    static List<Order> merge(List<List<Order>> sortedPerShard, Integer limit) {
+        var max = limit == null ? Integer.MAX_VALUE : limit;
+        var heads = new PriorityQueue<Cursor>(sortedPerShard.size(), Comparator.comparing(Cursor::head, NEWEST_FIRST));
+        for (var orders : sortedPerShard) {
+            if (!orders.isEmpty()) {
+                heads.add(new Cursor(orders));
+            }
+        }
+
+        var merged = new ArrayList<Order>(Math.min(max, sortedPerShard.stream().mapToInt(List::size).sum()));
+        var seen = new HashSet<String>();
+        while (!heads.isEmpty() && merged.size() < max) {
+            var cursor = heads.poll();
+            // While resharding, an order being moved can be in two tables
+            if (seen.add(cursor.head().getOrderNumber())) {
+                merged.add(cursor.head());
+            }
+            if (cursor.advance()) {
+                heads.add(cursor);
+            }
+        }
+        return merged;
+    }
+
+    private static Integer limitOf(Limit limit) {
+        return limit.isLimited() ? limit.max() : null;
+    }
+
+    private static List<OrderShard> append(List<OrderShard> shards, OrderShard last) {
+        var appended = new ArrayList<>(shards);
+        appended.add(last);
+        return List.copyOf(appended);
+    }
+
+    private static Object[] append(Object[] args, Object last) {
+        var appended = new Object[args.length + 1];
+        System.arraycopy(args, 0, appended, 0, args.length);
+        appended[args.length] = last;
+        return appended;
+    }
+
+    static OffsetDateTime toOffsetDateTime(Order order) {
+        return order.getOrderTimestamp().atOffset(ZoneOffset.UTC);
+    }
+
+    private static final class Cursor {
+
+        private final List<Order> orders;
+        private int position;
+
+        Cursor(List<Order> orders) {
+            this.orders = orders;
+        }
+
+        Order head() {
+            return orders.get(position);
+        }
+
+        boolean advance() {
+            return ++position < orders.size();
+        }
+    }
+}
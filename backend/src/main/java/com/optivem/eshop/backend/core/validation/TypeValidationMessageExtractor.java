@@ -6,10 +6,22 @@ import java.util.Map;
 
 public class TypeValidationMessageExtractor {
 
+    // Computed once per DTO class and reused; class metadata never changes at runtime
+    private static final ClassValue<Map<String, String>> FIELD_MESSAGES = new ClassValue<>() {
+        @Override
+        protected Map<String, String> computeValue(Class<?> clazz) {
+            return Map.copyOf(scanFieldMessages(clazz));
+        }
+    };
+
     private TypeValidationMessageExtractor() {
     }
 
     public static Map<String, String> extractFieldMessages(Class<?> clazz) {
+        return FIELD_MESSAGES.get(clazz);
+    }
+
+    private static Map<String, String> scanFieldMessages(Class<?> clazz) {
         Map<String, String> fieldMessages = new HashMap<>();
 
         for (Field field : clazz.getDeclaredFields()) {
@@ -0,0 +1,218 @@
+package com.optivem.eshop.backend.core.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.optivem.eshop.backend.core.cache.CacheInvalidationBus;
+import com.optivem.eshop.backend.core.cache.RecentOrdersWindow;
+import com.optivem.eshop.backend.core.dtos.PlaceOrderRequest;
+import com.optivem.eshop.backend.core.dtos.external.ProductDetailsResponse;
+import com.optivem.eshop.backend.core.dtos.external.TaxDetailsResponse;
+import com.optivem.eshop.backend.core.exceptions.ValidationException;
+import com.optivem.eshop.backend.core.repositories.ArchivedOrderRepository;
+import com.optivem.eshop.backend.core.repositories.OrderRepository;
+import com.optivem.eshop.backend.core.services.CouponService;
+import com.optivem.eshop.backend.core.services.OrderService;
+import com.optivem.eshop.backend.core.services.PriceComponentService;
+import com.optivem.eshop.backend.core.services.PricingService;
+import com.optivem.eshop.backend.core.services.QuoteTokenService;
+import com.optivem.eshop.backend.core.services.SalesReportService;
+import com.optivem.eshop.backend.core.services.external.ClockGateway;
+import com.optivem.eshop.backend.core.services.external.ErpGateway;
+import com.optivem.eshop.backend.core.services.external.HedgingPolicy;
+import com.optivem.eshop.backend.core.services.external.TaxGateway;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Optional startup warm-up, so the first real orders do not run in the interpreter against cold pools and codecs.
+// Orders are placed through an OrderService wired to in-process fake gateways, inside transactions that are rolled
+// back, and the API DTOs are round-tripped through Jackson. That OrderService has its own RecentOrdersWindow, turned
+// off, so no rolled-back order can be cached and served once the application is ready. Application runners finish
+// before Spring Boot marks the application ready, so the readiness state, and with it /health, stays OUT_OF_SERVICE
+// until warm-up completes or its time budget runs out
+@Component
+@ConditionalOnProperty(name = "warmup.enabled", havingValue = "true")
+public class WarmUpRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmUpRunner.class);
+
+    private static final String SKU_PREFIX = "WARMUP-";
+    private static final String COUNTRY = "WARMUP";
+    private static final String UNKNOWN_COUPON_CODE = "WARMUP-NO-SUCH-COUPON";
+    private static final BigDecimal UNIT_PRICE = new BigDecimal("19.99");
+    private static final BigDecimal TAX_RATE = new BigDecimal("0.20");
+    private static final int HISTORY_LIMIT = 20;
+
+    private final OrderService orderService;
+    private final RecentOrdersWindow recentOrdersWindow;
+    private final CouponService couponService;
+    private final TransactionTemplate rollbackTransaction;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${warmup.iterations:5000}")
+    private int iterations;
+
+    @Value("${warmup.threads:4}")
+    private int threads;
+
+    @Value("${warmup.time-budget-ms:30000}")
+    private long timeBudgetMs;
+
+    public WarmUpRunner(OrderRepository orderRepository, ArchivedOrderRepository archivedOrderRepository,
+                        CouponService couponService, PricingService pricingService,
+                        QuoteTokenService quoteTokenService, SalesReportService salesReportService,
+                        RecentOrdersWindow recentOrdersWindow, PlatformTransactionManager transactionManager,
+                        JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, Validator validator) {
+        // Same code as the OrderService bean, but it neither calls the external systems nor publishes order events.
+        // Its caches are registered on a bus that is never started, so the real caches stay registered
+        var detachedBus = new CacheInvalidationBus(jdbcTemplate);
+        var priceComponentService = new PriceComponentService(new FakeErpGateway(), new FakeTaxGateway(),
+                detachedBus, 0);
+        var disabledWindow = new RecentOrdersWindow(orderRepository, detachedBus, false, 0, 0);
+        this.orderService = new OrderService(orderRepository, archivedOrderRepository, new FakeClockGateway(),
+                couponService, pricingService, priceComponentService, quoteTokenService, salesReportService,
+                event -> { }, disabledWindow, transactionManager);
+        this.recentOrdersWindow = recentOrdersWindow;
+        this.couponService = couponService;
+        this.rollbackTransaction = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        log.info("Warming up: {} orders on {} threads, for at most {} ms", iterations, threads, timeBudgetMs);
+
+        var deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeBudgetMs);
+        var placed = new AtomicLong();
+        var stopped = new AtomicBoolean();
+        var executor = Executors.newFixedThreadPool(threads);
+        for (var thread = 0; thread < threads; thread++) {
+            // One SKU per thread, so the rolled-back sales rollup rows do not make the threads wait on each other
+            var request = toJson(SKU_PREFIX + thread);
+            var perThread = iterations / threads + (thread < iterations % threads ? 1 : 0);
+            executor.execute(() -> {
+                for (var i = 0; i < perThread && !stopped.get() && System.nanoTime() < deadline; i++) {
+                    try {
+                        placeAndRollBack(request);
+                        placed.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        // The application still starts; it is just not warmed up
+                        if (stopped.compareAndSet(false, true)) {
+                            log.warn("Warm-up stopped early: {}", e.getMessage());
+                        }
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+
+        var completed = executor.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        if (!completed) {
+            stopped.set(true);
+            executor.shutdownNow();
+        }
+        // Whatever was read while warming up is reloaded from committed data on first use
+        recentOrdersWindow.invalidateAll();
+        log.info("Warm-up {} after {} orders", completed ? "finished" : "hit its time budget", placed.get());
+    }
+
+    private void placeAndRollBack(byte[] requestJson) {
+        rollbackTransaction.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            try {
+                var request = objectMapper.readValue(requestJson, PlaceOrderRequest.class);
+                validator.validate(request);
+
+                var response = orderService.placeOrder(request);
+                objectMapper.writeValueAsBytes(response);
+                objectMapper.writeValueAsBytes(orderService.getOrder(response.getOrderNumber()));
+                objectMapper.writeValueAsBytes(orderService.browseOrderHistory(null, HISTORY_LIMIT, false));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            // The rejection path of the coupon lookup
+            try {
+                couponService.getDiscount(UNKNOWN_COUPON_CODE);
+            } catch (ValidationException expected) {
+                // Unknown coupon codes are rejected
+            }
+        });
+    }
+
+    private byte[] toJson(String sku) {
+        var request = new PlaceOrderRequest();
+        request.setSku(sku);
+        request.setQuantity(1);
+        request.setCountry(COUNTRY);
+        try {
+            return objectMapper.writeValueAsString(request).getBytes(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class FakeClockGateway extends ClockGateway {
+
+        FakeClockGateway() {
+            super(ObservationRegistry.NOOP);
+        }
+
+        @Override
+        public Instant getCurrentTime() {
+            return Instant.now();
+        }
+    }
+
+    private static final class FakeErpGateway extends ErpGateway {
+
+        FakeErpGateway() {
+            super(ObservationRegistry.NOOP, HedgingPolicy.disabled());
+        }
+
+        @Override
+        public Optional<ProductDetailsResponse> getProductDetails(String sku) {
+            var product = new ProductDetailsResponse();
+            product.setId(sku);
+            product.setPrice(UNIT_PRICE);
+            return Optional.of(product);
+        }
+    }
+
+    private static final class FakeTaxGateway extends TaxGateway {
+
+        FakeTaxGateway() {
+            super(ObservationRegistry.NOOP, HedgingPolicy.disabled());
+        }
+
+        @Override
+        public Optional<TaxDetailsResponse> getTaxDetails(String country) {
+            var tax = new TaxDetailsResponse();
+            tax.setId(country);
+            tax.setCountryName(country);
+            tax.setTaxRate(TAX_RATE);
+            return Optional.of(tax);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.optivem.eshop.backend.core.services;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PricingServiceTest {
+
+    private static final int CASES = 200_000;
+    private static final long SEED = 20260118L;
+
+    private final PricingService pricingService = new PricingService();
+
+    // Property: for any rounded inputs that fit in a long, the minor-unit path returns exactly the BigDecimal result,
+    // scales included
+    @Test
+    void longFastPathEqualsBigDecimalPath() {
+        var random = new Random(SEED);
+        for (var i = 0; i < CASES; i++) {
+            var unitPrice = BigDecimal.valueOf(random.nextLong(100_000_000L), PricingService.MONEY_SCALE);
+            var quantity = 1 + random.nextInt(10_000);
+            var discountRate = BigDecimal.valueOf(random.nextInt(10_001), PricingService.RATE_SCALE);
+            var taxRate = BigDecimal.valueOf(random.nextInt(10_001), PricingService.RATE_SCALE);
+
+            assertEquals(pricingService.calculateInBigDecimal(unitPrice, quantity, discountRate, taxRate),
+                    pricingService.calculateInMinorUnits(unitPrice, quantity, discountRate, taxRate),
+                    () -> "unitPrice=" + unitPrice + " quantity=" + quantity
+                            + " discountRate=" + discountRate + " taxRate=" + taxRate);
+        }
+    }
+
+    // Unrounded inputs are rounded once, before either path runs
+    @Test
+    void calculateRoundsInputsLikeTheBigDecimalPath() {
+        var random = new Random(SEED + 1);
+        for (var i = 0; i < CASES; i++) {
+            var unitPrice = BigDecimal.valueOf(random.nextLong(100_000_000_000L), 5);
+            var quantity = 1 + random.nextInt(1_000);
+            var discountRate = BigDecimal.valueOf(random.nextInt(1_000_001), 6);
+            var taxRate = BigDecimal.valueOf(random.nextInt(1_000_001), 6);
+
+            var expected = pricingService.calculateInBigDecimal(
+                    unitPrice.setScale(PricingService.MONEY_SCALE, PricingService.ROUNDING_MODE), quantity,
+                    discountRate.setScale(PricingService.RATE_SCALE, PricingService.ROUNDING_MODE),
+                    taxRate.setScale(PricingService.RATE_SCALE, PricingService.ROUNDING_MODE));
+            assertEquals(expected, pricingService.calculate(unitPrice, quantity, discountRate, taxRate));
+        }
+    }
+
+    // Amounts ending in exactly half a cent round up, as BigDecimal HALF_UP does
+    @ParameterizedTest
+    @CsvSource({
+            "0.01, 1, 0.5000, 0.0000",
+            "0.05, 1, 0.1000, 0.1000",
+            "10.00, 3, 0.0005, 0.0000",
+            "0.25, 2, 0.0100, 0.2500",
+            "19.99, 7, 0.1500, 0.2000",
+            "0.00, 5, 0.5000, 0.2000"
+    })
+    void halfCentBoundariesMatch(BigDecimal unitPrice, int quantity, BigDecimal discountRate, BigDecimal taxRate) {
+        assertEquals(pricingService.calculateInBigDecimal(unitPrice, quantity, discountRate, taxRate),
+                pricingService.calculateInMinorUnits(unitPrice, quantity, discountRate, taxRate));
+    }
+
+    // Too large for long minor units: the overflow falls back to BigDecimal instead of failing
+    @Test
+    void overflowFallsBackToBigDecimal() {
+        var unitPrice = new BigDecimal("92233720368547758.07");
+        var discountRate = new BigDecimal("0.1000");
+        var taxRate = new BigDecimal("0.2000");
+
+        assertEquals(pricingService.calculateInBigDecimal(unitPrice, 1_000, discountRate, taxRate),
+                pricingService.calculate(unitPrice, 1_000, discountRate, taxRate));
+    }
+}
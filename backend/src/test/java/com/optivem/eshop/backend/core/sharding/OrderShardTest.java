@@ -0,0 +1,47 @@
+package com.optivem.eshop.backend.core.sharding;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderShardTest {
+
+    private static final int ORDERS = 40_000;
+
+    // Pinned: the index decides where existing orders are stored, so it must never change silently
+    @ParameterizedTest
+    @CsvSource({
+            "ORD-0F6C4E1A-7B3D-4C1E-9A2F-5D8E6B4C3A21, 3, 0",
+            "ORD-8A1D2C3B-4E5F-4A6B-8C7D-9E0F1A2B3C4D, 3, 2",
+            "ORD-0F6C4E1A-7B3D-4C1E-9A2F-5D8E6B4C3A21, 2, 1",
+            "ORD-3C9B7E2D-1A4F-4B8C-A6D5-0E7F2B9C1D3E, 1, 0"
+    })
+    void indexIsStable(String orderNumber, int shardCount, int expectedIndex) {
+        assertEquals(expectedIndex, OrderShard.indexOf(orderNumber, shardCount));
+    }
+
+    @Test
+    void orderNumbersSpreadEvenlyOverTheShards() {
+        var shardCount = 4;
+        var counts = new int[shardCount];
+        var random = new Random(49L);
+        for (var i = 0; i < ORDERS; i++) {
+            var orderNumber = "ORD-" + new UUID(random.nextLong(), random.nextLong()).toString().toUpperCase(Locale.ROOT);
+            counts[OrderShard.indexOf(orderNumber, shardCount)]++;
+        }
+
+        var expected = ORDERS / shardCount;
+        for (var count : counts) {
+            assertTrue(Math.abs(count - expected) < expected / 20,
+                    () -> "Uneven spread: " + Arrays.toString(counts));
+        }
+    }
+}
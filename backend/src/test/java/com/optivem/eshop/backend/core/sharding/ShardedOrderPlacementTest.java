@@ -0,0 +1,144 @@
+package com.optivem.eshop.backend.core.sharding;
+
+import com.optivem.eshop.backend.core.cache.RecentOrdersWindow;
+import com.optivem.eshop.backend.core.dtos.PlaceOrderRequest;
+import com.optivem.eshop.backend.core.entities.Order;
+import com.optivem.eshop.backend.core.entities.OrderStatus;
+import com.optivem.eshop.backend.core.exceptions.ValidationException;
+import com.optivem.eshop.backend.core.repositories.ArchivedOrderRepository;
+import com.optivem.eshop.backend.core.services.CouponService;
+import com.optivem.eshop.backend.core.services.OrderService;
+import com.optivem.eshop.backend.core.services.PriceComponentService;
+import com.optivem.eshop.backend.core.services.PricingService;
+import com.optivem.eshop.backend.core.services.QuoteTokenService;
+import com.optivem.eshop.backend.core.services.SalesReportService;
+import com.optivem.eshop.backend.core.services.external.ClockGateway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Placing an order with orders sharded: the shard commits on its own, so a rolled-back placement must leave no order
+class ShardedOrderPlacementTest {
+
+    private static final String COUPON_CODE = "SUMMER2026";
+
+    private final JdbcTemplate shardJdbcTemplate = mock(JdbcTemplate.class);
+    private final CouponService couponService = mock(CouponService.class);
+    private final SynchronizingTransactionManager transactionManager = new SynchronizingTransactionManager();
+    private ShardedOrderRepository shardedOrderRepository;
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        var shard = mock(OrderShard.class);
+        when(shard.getJdbcTemplate()).thenReturn(shardJdbcTemplate);
+        shardedOrderRepository = new ShardedOrderRepository(List.of(shard), mock(OrderShard.class), false, 1);
+
+        var clockGateway = mock(ClockGateway.class);
+        when(clockGateway.getCurrentTime()).thenReturn(Instant.parse("2026-01-18T10:00:00Z"));
+        var priceComponentService = mock(PriceComponentService.class);
+        when(priceComponentService.getUnitPrice(anyString())).thenReturn(new BigDecimal("199.99"));
+        when(priceComponentService.getTaxRate(anyString())).thenReturn(new BigDecimal("0.0700"));
+        when(couponService.getDiscount(COUPON_CODE)).thenReturn(new BigDecimal("0.1000"));
+
+        orderService = new OrderService(shardedOrderRepository, mock(ArchivedOrderRepository.class), clockGateway,
+                couponService, new PricingService(), priceComponentService, mock(QuoteTokenService.class),
+                mock(SalesReportService.class), event -> { }, mock(RecentOrdersWindow.class), transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        shardedOrderRepository.close();
+    }
+
+    // The coupon reached its usage limit between the discount lookup and the usage increment
+    @Test
+    void couponUsedUpMidOrderWritesNothingToTheShard() {
+        doThrow(new ValidationException("couponCode", "Coupon code SUMMER2026 has exceeded its usage limit"))
+                .when(couponService).incrementUsageCount(COUPON_CODE);
+
+        assertThrows(ValidationException.class, () -> orderService.placeOrder(request(COUPON_CODE)));
+
+        verify(shardJdbcTemplate, never()).update(any(PreparedStatementCreator.class), any(KeyHolder.class));
+    }
+
+    @Test
+    void rollbackAfterTheShardInsertDeletesTheOrder() {
+        var transaction = new TransactionTemplate(transactionManager);
+
+        var order = transaction.execute(status -> {
+            var saved = shardedOrderRepository.save(newOrder("ORD-1"));
+            status.setRollbackOnly();
+            return saved;
+        });
+
+        verify(shardJdbcTemplate).update(any(PreparedStatementCreator.class), any(KeyHolder.class));
+        verify(shardJdbcTemplate).update(ShardedOrderRepository.DELETE_SQL, order.getOrderNumber());
+    }
+
+    @Test
+    void commitKeepsTheOrder() {
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> shardedOrderRepository.save(newOrder("ORD-1")));
+
+        verify(shardJdbcTemplate, never()).update(ShardedOrderRepository.DELETE_SQL, "ORD-1");
+    }
+
+    private static PlaceOrderRequest request(String couponCode) {
+        var request = new PlaceOrderRequest();
+        request.setSku("APPLE1001");
+        request.setQuantity(2);
+        request.setCountry("US");
+        request.setCouponCode(couponCode);
+        return request;
+    }
+
+    private static Order newOrder(String orderNumber) {
+        var order = new Order();
+        order.setOrderNumber(orderNumber);
+        order.setOrderTimestamp(Instant.parse("2026-01-18T10:00:00Z"));
+        order.setStatus(OrderStatus.PLACED);
+        return order;
+    }
+
+    // Holds no resources, but runs transaction synchronizations on commit and rollback like the JPA transaction manager
+    private static final class SynchronizingTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
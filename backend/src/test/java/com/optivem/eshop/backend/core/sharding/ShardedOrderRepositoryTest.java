@@ -0,0 +1,71 @@
+package com.optivem.eshop.backend.core.sharding;
+
+import com.optivem.eshop.backend.core.entities.Order;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardedOrderRepositoryTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-18T10:00:00Z");
+
+    @Test
+    void mergesShardsNewestFirst() {
+        var merged = ShardedOrderRepository.merge(List.of(
+                List.of(order("A", 50), order("B", 20), order("C", 10)),
+                List.of(order("D", 40), order("E", 30)),
+                List.of()), null);
+
+        assertEquals(List.of("A", "D", "E", "B", "C"), orderNumbers(merged));
+    }
+
+    @Test
+    void stopsAtTheLimit() {
+        var merged = ShardedOrderRepository.merge(List.of(
+                List.of(order("A", 50), order("B", 20), order("C", 10)),
+                List.of(order("D", 40), order("E", 30))), 3);
+
+        assertEquals(List.of("A", "D", "E"), orderNumbers(merged));
+    }
+
+    // Every node must produce the same page, whichever shard answered first
+    @Test
+    void breaksTimestampTiesOnTheOrderNumber() {
+        var merged = ShardedOrderRepository.merge(List.of(
+                List.of(order("A", 10)),
+                List.of(order("C", 10)),
+                List.of(order("B", 10))), null);
+
+        assertEquals(List.of("C", "B", "A"), orderNumbers(merged));
+    }
+
+    // While resharding, an order being moved is briefly in two tables
+    @Test
+    void keepsOneCopyOfAnOrderInTwoTables() {
+        var merged = ShardedOrderRepository.merge(List.of(
+                List.of(order("A", 30), order("B", 20)),
+                List.of(order("B", 20), order("C", 10))), 3);
+
+        assertEquals(List.of("A", "B", "C"), orderNumbers(merged));
+    }
+
+    @Test
+    void mergesNothingToAnEmptyList() {
+        assertTrue(ShardedOrderRepository.merge(List.of(List.of(), List.of()), 10).isEmpty());
+    }
+
+    private static Order order(String orderNumber, long secondsAfterNow) {
+        var order = new Order();
+        order.setOrderNumber(orderNumber);
+        order.setOrderTimestamp(NOW.plusSeconds(secondsAfterNow));
+        return order;
+    }
+
+    private static List<String> orderNumbers(List<Order> orders) {
+        return orders.stream().map(Order::getOrderNumber).toList();
+    }
+}
@@ -1,46 +1,139 @@
 // Mock API server using json-server
 // Serves ERP and Tax APIs under namespaced paths
+//
+// Performance mode (PERF_MODE=true) is for load tests: no request logging or static file middleware,
+// fixtures answered from precomputed JSON, and PERF_WORKERS processes (default: one per CPU).
+// Workers do not share state, so data created through the API is only visible to the worker that received it.
+//
+// Latency and error injection apply in both modes, per route:
+//   ERP_LATENCY_MS, ERP_LATENCY_JITTER_MS, ERP_ERROR_RATE     -> /erp/api/products/:sku
+//   TAX_LATENCY_MS, TAX_LATENCY_JITTER_MS, TAX_ERROR_RATE     -> /tax/api/countries/:code
+//   CLOCK_LATENCY_MS, CLOCK_LATENCY_JITTER_MS, CLOCK_ERROR_RATE -> /clock/api/time
+// Long-tail latency, e.g. ERP_TAIL_RATE=0.01 ERP_TAIL_LATENCY_MS=2000 to show hedging's effect on p99 and p999:
+//   <PREFIX>_TAIL_RATE (fraction of requests) and <PREFIX>_TAIL_LATENCY_MS (extra delay), same prefixes as above
+const cluster = require('cluster');
+const os = require('os');
 const jsonServer = require('json-server');
 
-const server = jsonServer.create();
-const middlewares = jsonServer.defaults({
-  logger: true,
-  noCors: false
-});
-
-server.use(middlewares);
-server.use(jsonServer.bodyParser);
-
-// ERP subsystem health check
-server.get('/erp/health', (req, res) => {
-  res.status(200).json({
-    status: 'UP',
-    subsystem: 'ERP',
-    timestamp: new Date().toISOString()
+const perfMode = process.env.PERF_MODE === 'true';
+const workerCount = perfMode ? Number(process.env.PERF_WORKERS || os.cpus().length) : 1;
+
+if (cluster.isPrimary && workerCount > 1) {
+  for (let i = 0; i < workerCount; i++) {
+    cluster.fork();
+  }
+  cluster.on('exit', (worker, code) => {
+    console.log(`Worker ${worker.process.pid} exited with code ${code}, restarting`);
+    cluster.fork();
+  });
+  console.log(`Mock API Server (performance mode) starting ${workerCount} workers`);
+} else {
+  startServer();
+}
+
+// Delays matching requests, a fraction of them much longer, and fails a fraction with 503, configured by
+// <prefix>_* variables
+function faultInjection(prefix) {
+  const latencyMs = Number(process.env[`${prefix}_LATENCY_MS`] || 0);
+  const jitterMs = Number(process.env[`${prefix}_LATENCY_JITTER_MS`] || 0);
+  const errorRate = Number(process.env[`${prefix}_ERROR_RATE`] || 0);
+  const tailRate = Number(process.env[`${prefix}_TAIL_RATE`] || 0);
+  const tailLatencyMs = Number(process.env[`${prefix}_TAIL_LATENCY_MS`] || 0);
+
+  if (latencyMs <= 0 && jitterMs <= 0 && errorRate <= 0 && (tailRate <= 0 || tailLatencyMs <= 0)) {
+    return (req, res, next) => next();
+  }
+
+  return (req, res, next) => {
+    const respond = () => {
+      if (Math.random() < errorRate) {
+        res.status(503).json({ error: `Injected ${prefix} failure` });
+        return;
+      }
+      next();
+    };
+    // Independent of the other requests, so a retried or hedged request usually misses the tail
+    const tailMs = Math.random() < tailRate ? tailLatencyMs : 0;
+    const delayMs = latencyMs + Math.random() * jitterMs + tailMs;
+    if (delayMs > 0) {
+      setTimeout(respond, delayMs);
+    } else {
+      respond();
+    }
+  };
+}
+
+// Load test SKUs PERF-1 .. PERF-<PERF_PRODUCT_COUNT>, on top of the regular catalogue
+function perfProducts() {
+  const count = perfMode ? Number(process.env.PERF_PRODUCT_COUNT || 1000) : 0;
+  const products = [];
+  for (let i = 1; i <= count; i++) {
+    products.push({
+      id: `PERF-${i}`,
+      title: `Load Test Product ${i}`,
+      description: 'Generated for performance tests',
+      price: 10 + (i % 990),
+      category: 'Load Test',
+      brand: 'Perf'
+    });
+  }
+  return products;
+}
+
+// Answers GET <path>/:id from JSON serialized once at startup instead of querying the json-server database
+function precomputedLookup(records) {
+  const bodies = new Map(records.map(record => [record.id, JSON.stringify(record)]));
+  return (req, res) => {
+    const body = bodies.get(req.params.id);
+    res.status(body ? 200 : 404).type('application/json').send(body || '{}');
+  };
+}
+
+function startServer() {
+  const server = jsonServer.create();
+
+  if (!perfMode) {
+    const middlewares = jsonServer.defaults({
+      logger: true,
+      noCors: false
+    });
+    server.use(middlewares);
+  }
+  server.use(jsonServer.bodyParser);
+
+  server.use('/erp/api/products', faultInjection('ERP'));
+  server.use('/tax/api/countries', faultInjection('TAX'));
+  server.use('/clock/api/time', faultInjection('CLOCK'));
+
+  // ERP subsystem health check
+  server.get('/erp/health', (req, res) => {
+    res.status(200).json({
+      status: 'UP',
+      subsystem: 'ERP',
+      timestamp: new Date().toISOString()
+    });
   });
-});
-
-// Tax subsystem health check
-server.get('/tax/health', (req, res) => {
-  res.status(200).json({
-    status: 'UP',
-    subsystem: 'Tax',
-    timestamp: new Date().toISOString()
+
+  // Tax subsystem health check
+  server.get('/tax/health', (req, res) => {
+    res.status(200).json({
+      status: 'UP',
+      subsystem: 'Tax',
+      timestamp: new Date().toISOString()
+    });
   });
-});
-
-// Clock subsystem health check
-server.get('/clock/health', (req, res) => {
-  res.status(200).json({
-    status: 'UP',
-    subsystem: 'Clock',
-    timestamp: new Date().toISOString()
+
+  // Clock subsystem health check
+  server.get('/clock/health', (req, res) => {
+    res.status(200).json({
+      status: 'UP',
+      subsystem: 'Clock',
+      timestamp: new Date().toISOString()
+    });
   });
-});
 
-// In-memory data for ERP API
-const erpRouter = jsonServer.router({
-  products: [
+  // In-memory data for ERP API
+  const products = [
     {
       id: "HP-15",
       title: "HP Laptop 15",
@@ -65,20 +158,22 @@ const erpRouter = jsonServer.router({
       category: "Laptops",
       brand: "Lenovo"
     }
-  ]
-});
+  ].concat(perfProducts());
+  const erpRouter = jsonServer.router({ products });
 
-server.get('/erp/api', (req, res) => {
-  res.status(200).json({
-    message: 'ERP API',
-    endpoints: ['/erp/api/products']
+  server.get('/erp/api', (req, res) => {
+    res.status(200).json({
+      message: 'ERP API',
+      endpoints: ['/erp/api/products']
+    });
   });
-});
-server.use('/erp/api', erpRouter);
+  if (perfMode) {
+    server.get('/erp/api/products/:id', precomputedLookup(products));
+  }
+  server.use('/erp/api', erpRouter);
 
-// In-memory data for Tax API
-const taxRouter = jsonServer.router({
-  countries: [
+  // In-memory data for Tax API
+  const countries = [
     {
       id: "US",
       countryName: "United States",
@@ -104,25 +199,35 @@ const taxRouter = jsonServer.router({
       countryName: "Japan",
       taxRate: 0.10
     }
-  ]
-});
+  ];
+  const taxRouter = jsonServer.router({ countries });
+
+  server.get('/tax/api', (req, res) => {
+    res.status(200).json({
+      message: 'Tax API',
+      endpoints: ['/tax/api/countries']
+    });
+  });
+  if (perfMode) {
+    server.get('/tax/api/countries/:id', precomputedLookup(countries));
+  }
+  server.use('/tax/api', taxRouter);
+
+  server.get('/clock/api/time', (req, res) => {
+    res.status(200).json({
+      time: new Date().toISOString()
+    });
+  });
 
-server.get('/tax/api', (req, res) => {
-  res.status(200).json({
-    message: 'Tax API',
-    endpoints: ['/tax/api/countries']
+  const port = 9000;
+  server.listen(port, () => {
+    console.log(`Mock API Server running on http://localhost:${port}`);
+    console.log(`ERP Health: http://localhost:${port}/erp/health`);
+    console.log(`ERP API: http://localhost:${port}/erp/api/products`);
+    console.log(`Tax Health: http://localhost:${port}/tax/health`);
+    console.log(`Tax API: http://localhost:${port}/tax/api/countries`);
+    console.log(`Clock Health: http://localhost:${port}/clock/health`);
+    console.log(`Clock API: http://localhost:${port}/clock/api/time`);
   });
-});
-server.use('/tax/api', taxRouter);
-
-const port = 9000;
-server.listen(port, () => {
-  console.log(`Mock API Server running on http://localhost:${port}`);
-  console.log(`ERP Health: http://localhost:${port}/erp/health`);
-  console.log(`ERP API: http://localhost:${port}/erp/api/products`);
-  console.log(`Tax Health: http://localhost:${port}/tax/health`);
-  console.log(`Tax API: http://localhost:${port}/tax/api/countries`);
-  console.log(`Clock Health: http://localhost:${port}/clock/health`);
-  console.log(`Clock API: http://localhost:${port}/clock/api/time`);
-});
+}
 
@@ -0,0 +1,58 @@
+#!/bin/sh
+# Loads performance fixtures into WireMock, with per-route latency from the environment:
+#   ERP_LATENCY_MS / ERP_LATENCY_JITTER_MS, TAX_LATENCY_MS / TAX_LATENCY_JITTER_MS, CLOCK_LATENCY_MS / CLOCK_LATENCY_JITTER_MS
+# WireMock has no random error rate; use the external-real-sim performance mode for error injection.
+set -e
+
+ADMIN_URL="${WIREMOCK_URL:-http://external-stub:8080}/__admin"
+
+until curl -sf "$ADMIN_URL/health" > /dev/null; do
+  sleep 1
+done
+
+# Uniform delay between <latency> and <latency + jitter> milliseconds
+delay() {
+  echo "{\"type\": \"uniform\", \"lower\": ${1:-0}, \"upper\": $(( ${1:-0} + ${2:-0} ))}"
+}
+
+stub() {
+  curl -sf -X POST "$ADMIN_URL/mappings" -H 'Content-Type: application/json' -d "$1" > /dev/null
+}
+
+ERP_DELAY=$(delay "$ERP_LATENCY_MS" "$ERP_LATENCY_JITTER_MS")
+TAX_DELAY=$(delay "$TAX_LATENCY_MS" "$TAX_LATENCY_JITTER_MS")
+CLOCK_DELAY=$(delay "$CLOCK_LATENCY_MS" "$CLOCK_LATENCY_JITTER_MS")
+
+for product in "HP-15 699.99" "DELL-XPS 1299.99" "LENOVO-T14 999.99"; do
+  set -- $product
+  stub "{
+    \"request\": {\"method\": \"GET\", \"url\": \"/erp/api/products/$1\"},
+    \"response\": {\"status\": 200, \"headers\": {\"Content-Type\": \"application/json\"},
+      \"body\": \"{\\\"id\\\": \\\"$1\\\", \\\"price\\\": $2}\", \"delayDistribution\": $ERP_DELAY}
+  }"
+done
+
+# Same load test SKUs as the simulator: PERF-<n>
+stub "{
+  \"request\": {\"method\": \"GET\", \"urlPathPattern\": \"/erp/api/products/PERF-[0-9]+\"},
+  \"response\": {\"status\": 200, \"headers\": {\"Content-Type\": \"application/json\"},
+    \"body\": \"{\\\"id\\\": \\\"{{request.path.[3]}}\\\", \\\"price\\\": 100.00}\",
+    \"transformers\": [\"response-template\"], \"delayDistribution\": $ERP_DELAY}
+}"
+
+for country in "US 0.07" "UK 0.20" "DE 0.19" "FR 0.20" "JP 0.10"; do
+  set -- $country
+  stub "{
+    \"request\": {\"method\": \"GET\", \"url\": \"/tax/api/countries/$1\"},
+    \"response\": {\"status\": 200, \"headers\": {\"Content-Type\": \"application/json\"},
+      \"body\": \"{\\\"id\\\": \\\"$1\\\", \\\"taxRate\\\": $2}\", \"delayDistribution\": $TAX_DELAY}
+  }"
+done
+
+stub "{
+  \"request\": {\"method\": \"GET\", \"url\": \"/clock/api/time\"},
+  \"response\": {\"status\": 200, \"headers\": {\"Content-Type\": \"application/json\"},
+    \"body\": \"{\\\"time\\\": \\\"2024-01-15T10:30:00.000Z\\\"}\", \"delayDistribution\": $CLOCK_DELAY}
+}"
+
+echo "Performance fixtures loaded"
@@ -1,6 +1,7 @@
 import { useState, useEffect, useCallback } from 'react';
 import { orderService } from '../services/order-service';
-import type { BrowseOrderHistoryItemResponse } from '../types/api.types';
+import type { BrowseOrderHistoryItemResponse, OrderEventResponse } from '../types/api.types';
+import { OrderStatus } from '../types/api.types';
 
 /**
  * Custom hook for managing order history browsing and filtering
@@ -31,6 +32,27 @@ export function useOrders(initialFilter: string = '') {
     loadOrders(filter);
   }, [filter, loadOrders]);
 
+  // Apply pushed status changes instead of re-fetching the whole history
+  useEffect(() => {
+    const normalizedFilter = filter.trim().toLowerCase();
+
+    const applyEvent = (event: OrderEventResponse) => {
+      const { previousStatus, ...item } = event;
+      setOrders(current => {
+        if (current.some(order => order.orderNumber === item.orderNumber)) {
+          return current.map(order => order.orderNumber === item.orderNumber ? { ...order, status: item.status } : order);
+        }
+        const matchesFilter = item.orderNumber.toLowerCase().includes(normalizedFilter);
+        if (previousStatus == null && item.status === OrderStatus.PLACED && matchesFilter) {
+          return [item, ...current];
+        }
+        return current;
+      });
+    };
+
+    return orderService.subscribeToOrderEvents(applyEvent, () => loadOrders(filter));
+  }, [filter, loadOrders]);
+
   const refresh = () => {
     loadOrders(filter);
   };
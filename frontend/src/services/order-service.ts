@@ -1,7 +1,7 @@
 // Service layer for Order API operations
 
 import { fetchJson } from '../common';
-import type { PlaceOrderRequest, PlaceOrderResponse, ViewOrderDetailsResponse, BrowseOrderHistoryResponse } from '../types/api.types';
+import type { PlaceOrderRequest, PlaceOrderResponse, ViewOrderDetailsResponse, BrowseOrderHistoryResponse, OrderEventResponse } from '../types/api.types';
 import type { Result } from '../types/result.types';
 
 class OrderService {
@@ -54,6 +54,31 @@ class OrderService {
     });
   }
 
+  /**
+   * Subscribes to order status changes pushed by the server.
+   * onResync is called after a dropped connection is re-established, since events may have been missed.
+   * @returns A function that closes the subscription
+   */
+  subscribeToOrderEvents(onEvent: (event: OrderEventResponse) => void, onResync: () => void): () => void {
+    const eventSource = new EventSource(`${this.baseUrl}/events`);
+    let disconnected = false;
+
+    eventSource.addEventListener('order', (message) => {
+      onEvent(JSON.parse((message as MessageEvent).data));
+    });
+    eventSource.onerror = () => {
+      disconnected = true;
+    };
+    eventSource.onopen = () => {
+      if (disconnected) {
+        disconnected = false;
+        onResync();
+      }
+    };
+
+    return () => eventSource.close();
+  }
+
 }
 
 export const orderService = new OrderService();
@@ -53,6 +53,11 @@ export interface BrowseOrderHistoryResponse {
   orders: BrowseOrderHistoryItemResponse[];
 }
 
+// Pushed by /api/orders/events whenever an order is placed, cancelled or delivered
+export interface OrderEventResponse extends BrowseOrderHistoryItemResponse {
+  previousStatus?: OrderStatus | null;
+}
+
 // Coupon API types
 export interface PublishCouponRequest {
   code: string;